@@ -0,0 +1,40 @@
+package com.arnavgautam.taskmanager.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a {@link ConcurrencyLimitedDataSource} sized to the
+ * connection pool. Enabled by the virtual-threads profile, where request concurrency is no
+ * longer bounded by the servlet thread pool. With sharding on, {@link ShardRoutingConfig} limits
+ * each shard's pool instead, since one semaphore sized to the primary pool would cap all
+ * shards together at that pool's size.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasks.db.concurrency-limit.enabled", havingValue = "true")
+public class DataSourceConcurrencyConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        int maxConcurrency = environment.getProperty("tasks.db.concurrency-limit.max-concurrency", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long timeoutMillis = environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L);
+        boolean sharded = environment.getProperty("tasks.db.shards.enabled", Boolean.class, false);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)
+                        && beanName.equals("dataSource") && !sharded) {
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, timeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.arnavgautam.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with a {@link ReplicaRoutingDataSource} over the
+ * spring.datasource primary and one pool per URL in {@code tasks.db.replicas.urls}. Flyway
+ * migrates the primary directly; everything else goes through the router.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasks.db.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig implements DisposableBean {
+
+    private final List<HikariDataSource> replicaPools = new ArrayList<>();
+    private volatile ReplicaRoutingDataSource router;
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${tasks.db.replicas.urls}") List<String> urls,
+            @Value("${tasks.db.replicas.username:${spring.datasource.username}}") String username,
+            @Value("${tasks.db.replicas.password:${spring.datasource.password}}") String password,
+            @Value("${tasks.db.replicas.pool-size:10}") int poolSize,
+            @Value("${tasks.db.replicas.max-lag:5s}") Duration maxLag,
+            @Value("${tasks.db.replicas.sticky-window:5s}") Duration stickyWindow,
+            @Value("${tasks.db.replicas.max-sticky-users:100000}") int maxStickyUsers) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(urls.get(i));
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setMaximumPoolSize(poolSize);
+            pool.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            pool.setMaxLifetime(primaryDataSource.getMaxLifetime());
+            pool.setReadOnly(true);
+            // Fail per query rather than at startup, so a replica that is down only takes itself out of rotation
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicaPools.add(pool);
+            replicas.put(pool.getPoolName(), pool);
+        }
+
+        router = new ReplicaRoutingDataSource(
+                primaryDataSource, replicas, maxLag, stickyWindow, maxStickyUsers, meterRegistry);
+        router.checkReplicas();
+        return router;
+    }
+
+    /**
+     * The application DataSource; the connection is only fetched, and so routed, once the
+     * transaction's read-only flag is set
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.db.replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        if (router != null) {
+            router.checkReplicas();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicaPools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,176 @@
+package com.arnavgautam.taskmanager.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource that sends read-only transactions to a healthy replica and everything else to
+ * the primary. A replica is skipped while it fails its health check or its replay lag is
+ * above {@code maxLag}; with no usable replica, reads go to the primary.
+ *
+ * <p>An authenticated user's reads always go to the same replica, chosen by their name, or to
+ * the primary while that replica is unusable; never to another replica. Replay on one server
+ * only moves forward, so successive reads by a user never go back in time: a list version read
+ * before the page it tags is never newer than the page. Anonymous reads are spread round robin.
+ *
+ * <p>After a user's read-write transaction commits, that user's reads stay on the primary for
+ * {@code stickyWindow}, so they see their own writes despite replication lag. This is tracked
+ * per node; a read on another node may lag the user's write by up to {@code maxLag}, so reads
+ * that must not miss a committed write, such as delta sync, run in read-write transactions.
+ * Routing happens when a connection is first used, so this must sit behind a
+ * LazyConnectionDataSourceProxy; otherwise the transaction's read-only flag is not yet known.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                                    Duration stickyWindow, int maxStickyUsers, MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.replicas = replicas.entrySet().stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue()))
+                .toList();
+        this.maxLag = maxLag;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxStickyUsers)
+                .expireAfterWrite(stickyWindow)
+                .build();
+
+        for (Replica replica : this.replicas) {
+            Gauge.builder("db.replica.lag", replica, r -> r.lagMillis)
+                    .description("Replay lag of the replica at its last health check")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.available", replica, r -> isUsable(r) ? 1 : 0)
+                    .description("Whether read-only transactions are routed to the replica")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Probe every replica's connectivity and replay lag; a failed probe marks it unusable until the next one
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasUsable = isUsable(replica);
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet lag = statement.executeQuery(LAG_QUERY)) {
+                lag.next();
+                replica.lagMillis = lag.getLong(1);
+                replica.healthy = true;
+            } catch (SQLException e) {
+                replica.healthy = false;
+                log.warn("Replica {} failed its health check: {}", replica.name, e.getMessage());
+            }
+
+            if (wasUsable && !isUsable(replica)) {
+                log.warn("Routing reads away from replica {} (lag {} ms)", replica.name, replica.lagMillis);
+            } else if (!wasUsable && isUsable(replica)) {
+                log.info("Routing reads to replica {} again", replica.name);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit(user);
+            return PRIMARY;
+        }
+        if (replicas.isEmpty() || user != null && recentWriters.getIfPresent(user) != null) {
+            return PRIMARY;
+        }
+        if (user != null) {
+            Replica replica = replicas.get(Math.floorMod(user.hashCode(), replicas.size()));
+            return isUsable(replica) ? replica.name : PRIMARY;
+        }
+
+        // Round robin from a rotating start, skipping replicas that are down or lagging
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (isUsable(replica)) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    private boolean isUsable(Replica replica) {
+        return replica.healthy && replica.lagMillis <= maxLag.toMillis();
+    }
+
+    private void rememberWriteOnCommit(String user) {
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * One replica pool and the result of its last health check; unchecked replicas are not used
+     */
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMillis;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.arnavgautam.taskmanager.config;
+
+/**
+ * Thread-bound override of the shard a {@link ShardRoutingDataSource} picks. Requests are
+ * routed by their authenticated user; work without one (scheduled jobs, async response
+ * bodies, fan-out queries) opens a scope for the owner or shard it acts on:
+ *
+ * <pre>
+ * try (ShardContext.Scope scope = ShardContext.forOwner(ownerId)) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * Without sharding enabled nothing reads the scope, so opening one is harmless.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Target> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Route this thread's connections to the shard holding the owner's tasks until the scope is closed
+     */
+    public static Scope forOwner(Long ownerId) {
+        return open(new Target(ownerId, null));
+    }
+
+    /**
+     * Route this thread's connections to the given shard until the scope is closed
+     */
+    public static Scope forShard(int shard) {
+        return open(new Target(null, shard));
+    }
+
+    static Long currentOwner() {
+        Target target = CURRENT.get();
+        return target != null ? target.ownerId() : null;
+    }
+
+    static Integer currentShard() {
+        Target target = CURRENT.get();
+        return target != null ? target.shard() : null;
+    }
+
+    private static Scope open(Target target) {
+        Target previous = CURRENT.get();
+        CURRENT.set(target);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * An open routing override; closing it restores the enclosing one
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private record Target(Long ownerId, Integer shard) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.arnavgautam.taskmanager.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Owner-to-shard map kept in the owner_shards table of the primary database. An owner is
+ * placed on first use: on shard 0 if they already have tasks or tombstones there from before
+ * sharding, otherwise by owner id modulo the shard count. (task_list_versions is no guide:
+ * owners get a row only on their first write after V7.) They stay there until moved by the
+ * {@link com.arnavgautam.taskmanager.service.ShardRebalancer}, so adding shards only affects
+ * new owners.
+ *
+ * <p>Lookups are cached for {@code cacheTtl}, so a move is seen by other instances within that time.
+ */
+public class ShardDirectory {
+
+    private static final String PLACE =
+            "WITH placed AS (" +
+            "INSERT INTO owner_shards (owner_id, shard) " +
+            "SELECT ?, CASE WHEN EXISTS (SELECT 1 FROM tasks WHERE owner_id = ?) " +
+            "OR EXISTS (SELECT 1 FROM task_tombstones WHERE owner_id = ?) THEN 0 ELSE ? END " +
+            "ON CONFLICT (owner_id) DO NOTHING " +
+            "RETURNING shard, moving) " +
+            "SELECT shard, moving FROM placed " +
+            "UNION ALL SELECT shard, moving FROM owner_shards WHERE owner_id = ? " +
+            "LIMIT 1";
+
+    private static final String FIND = "SELECT shard, moving FROM owner_shards WHERE owner_id = ?";
+
+    private static final RowMapper<Placement> PLACEMENT =
+            (rs, rowNum) -> new Placement(rs.getInt("shard"), rs.getBoolean("moving"));
+
+    private final JdbcTemplate primary;
+    private final int shardCount;
+    private final Duration cacheTtl;
+    private final Cache<Long, Placement> placements;
+
+    public ShardDirectory(JdbcTemplate primary, int shardCount, Duration cacheTtl, int cacheSize) {
+        this.primary = primary;
+        this.shardCount = shardCount;
+        this.cacheTtl = cacheTtl;
+        this.placements = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    /**
+     * Where the owner's tasks live, placing a new owner
+     */
+    public Placement placementOf(Long ownerId) {
+        return placements.get(ownerId, this::load);
+    }
+
+    /**
+     * How long another instance may keep routing an owner by a placement read before a change
+     */
+    public Duration cacheTtl() {
+        return cacheTtl;
+    }
+
+    /**
+     * Set or clear the owner's moving flag, which rejects their writes while set; reads continue
+     * on the current shard. Returns false if the flag already had that value.
+     */
+    public boolean markMoving(Long ownerId, boolean moving) {
+        int updated = primary.update("UPDATE owner_shards SET moving = ? WHERE owner_id = ? AND moving <> ?",
+                moving, ownerId, moving);
+        placements.invalidate(ownerId);
+        return updated > 0;
+    }
+
+    /**
+     * Point the owner at a shard and clear the moving flag
+     */
+    public void assign(Long ownerId, int shard) {
+        primary.update("UPDATE owner_shards SET shard = ?, moving = false WHERE owner_id = ?", shard, ownerId);
+        placements.invalidate(ownerId);
+    }
+
+    private Placement load(Long ownerId) {
+        List<Placement> placed = primary.query(PLACE, PLACEMENT,
+                ownerId, ownerId, ownerId, (int) Math.floorMod(ownerId, (long) shardCount), ownerId);
+        if (!placed.isEmpty()) {
+            return placed.get(0);
+        }
+        // A concurrent first use placed the owner after this statement's snapshot was taken;
+        // the conflict made the insert wait for it to commit, so a new statement sees its row
+        return primary.queryForObject(FIND, PLACEMENT, ownerId);
+    }
+
+    public record Placement(int shard, boolean moving) {
+    }
+}
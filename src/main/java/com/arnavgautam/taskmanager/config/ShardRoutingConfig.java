@@ -0,0 +1,121 @@
+package com.arnavgautam.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with a {@link ShardRoutingDataSource}. Shard 0 is the
+ * spring.datasource primary, migrated by the regular Flyway run; shards 1..n are the URLs in
+ * {@code tasks.db.shards.urls}, each with its own pool and migrated here at startup with the
+ * shard-only scripts in db/shard added. Not combined with tasks.db.replicas.
+ *
+ * <p>With tasks.db.concurrency-limit enabled, each shard's pool gets its own semaphore sized to
+ * that pool, in place of the single one {@link DataSourceConcurrencyConfig} puts in front of
+ * the application DataSource.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasks.db.shards.enabled", havingValue = "true")
+@Slf4j
+public class ShardRoutingConfig implements DisposableBean {
+
+    private final List<HikariDataSource> shardPools = new ArrayList<>();
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${tasks.db.shards.urls}") List<String> urls,
+            @Value("${tasks.db.shards.username:${spring.datasource.username}}") String username,
+            @Value("${tasks.db.shards.password:${spring.datasource.password}}") String password,
+            @Value("${tasks.db.shards.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize,
+            @Value("${tasks.db.shards.directory-cache-ttl:5s}") Duration directoryCacheTtl,
+            @Value("${tasks.db.shards.directory-cache-size:100000}") int directoryCacheSize,
+            @Value("${tasks.db.concurrency-limit.enabled:false}") boolean concurrencyLimited) {
+        Map<Integer, DataSource> shards = new HashMap<>();
+        shards.put(ShardRoutingDataSource.PRIMARY_SHARD, limited(primaryDataSource, concurrencyLimited));
+        for (int i = 0; i < urls.size(); i++) {
+            int shard = i + 1;
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("shard-" + shard);
+            pool.setJdbcUrl(urls.get(i));
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setMaximumPoolSize(poolSize);
+            pool.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            pool.setMaxLifetime(primaryDataSource.getMaxLifetime());
+            pool.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shardPools.add(pool);
+
+            migrate(shard, pool);
+            shards.put(shard, limited(pool, concurrencyLimited));
+        }
+
+        ShardDirectory directory = new ShardDirectory(
+                new JdbcTemplate(primaryDataSource), shards.size(), directoryCacheTtl, directoryCacheSize);
+        return new ShardRoutingDataSource(shards, directory);
+    }
+
+    /**
+     * The application DataSource; the connection is only fetched, and so routed, once the
+     * transaction's read-only flag is set
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Override
+    public void destroy() {
+        shardPools.forEach(HikariDataSource::close);
+    }
+
+    private static DataSource limited(HikariDataSource pool, boolean concurrencyLimited) {
+        return concurrencyLimited
+                ? new ConcurrencyLimitedDataSource(pool, pool.getMaximumPoolSize(), pool.getConnectionTimeout())
+                : pool;
+    }
+
+    private static void migrate(int shard, DataSource dataSource) {
+        int applied = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/shard")
+                .placeholders(Map.of("shard_id_base", Long.toString((long) shard << 48)))
+                .baselineOnMigrate(true)
+                .load()
+                .migrate()
+                .migrationsExecuted;
+        log.info("Migrated shard {}: {} migrations applied", shard, applied);
+    }
+}
@@ -0,0 +1,90 @@
+package com.arnavgautam.taskmanager.config;
+
+import com.arnavgautam.taskmanager.exception.ServiceUnavailableException;
+import com.arnavgautam.taskmanager.security.AuthenticatedUser;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource that sends each connection to the shard holding the current owner's tasks. The
+ * owner is taken from an open {@link ShardContext} scope, else from the authenticated user;
+ * with neither, the connection goes to shard 0, the primary, which also holds users, refresh
+ * tokens and the {@link ShardDirectory}.
+ *
+ * <p>While an owner is being moved their read-write transactions are rejected with 503. Like
+ * the replica router, this must sit behind a LazyConnectionDataSourceProxy so the read-only
+ * flag is known when the shard is picked.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final int PRIMARY_SHARD = 0;
+
+    private final Map<Integer, DataSource> shards;
+    private final ShardDirectory directory;
+
+    /**
+     * @param shards every shard by number, including {@link #PRIMARY_SHARD}
+     */
+    public ShardRoutingDataSource(Map<Integer, DataSource> shards, ShardDirectory directory) {
+        this.shards = Map.copyOf(shards);
+        this.directory = directory;
+        setTargetDataSources(new HashMap<>(shards));
+        setDefaultTargetDataSource(shards.get(PRIMARY_SHARD));
+    }
+
+    public List<Integer> shardIds() {
+        return shards.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * The shard's own pool, bypassing routing
+     */
+    public DataSource shard(int shard) {
+        DataSource dataSource = shards.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("No shard " + shard);
+        }
+        return dataSource;
+    }
+
+    public ShardDirectory directory() {
+        return directory;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.currentShard();
+        if (shard != null) {
+            return shard;
+        }
+
+        Long ownerId = ShardContext.currentOwner();
+        if (ownerId == null) {
+            ownerId = authenticatedOwnerId();
+        }
+        if (ownerId == null) {
+            return PRIMARY_SHARD;
+        }
+
+        ShardDirectory.Placement placement = directory.placementOf(ownerId);
+        if (placement.moving() && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            throw new ServiceUnavailableException("Your tasks are being moved; please retry shortly");
+        }
+        return placement.shard();
+    }
+
+    private static Long authenticatedOwnerId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,73 @@
+package com.arnavgautam.taskmanager.config;
+
+import com.arnavgautam.taskmanager.service.ShardRebalancer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Actuator endpoint for shard administration: {@code GET /actuator/shards} reports owners and
+ * tasks per shard, queried on all shards in parallel; {@code POST /actuator/shards} with
+ * {@code {"ownerId": 42, "shard": 2}} moves an owner. Not exposed by default; expose it only
+ * on a management port that is not reachable by API clients.
+ */
+@Component
+@Endpoint(id = "shards")
+@ConditionalOnProperty(name = "tasks.db.shards.enabled", havingValue = "true")
+public class ShardsEndpoint {
+
+    private static final String SHARD_TOTALS =
+            "SELECT count(DISTINCT owner_id) AS owners, coalesce(sum(task_count), 0) AS tasks FROM task_counters";
+
+    private final ShardRoutingDataSource shards;
+    private final ShardRebalancer shardRebalancer;
+    private final ExecutorService fanOut;
+
+    public ShardsEndpoint(ShardRoutingDataSource shards, ShardRebalancer shardRebalancer) {
+        this.shards = shards;
+        this.shardRebalancer = shardRebalancer;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("shard-fan-out-");
+        threadFactory.setDaemon(true);
+        this.fanOut = Executors.newFixedThreadPool(shards.shardIds().size(), threadFactory);
+    }
+
+    @ReadOperation
+    public List<ShardTotals> totals() {
+        List<CompletableFuture<ShardTotals>> queries = shards.shardIds().stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> totals(shard), fanOut))
+                .toList();
+        return queries.stream().map(CompletableFuture::join).toList();
+    }
+
+    @WriteOperation
+    public MoveResult move(long ownerId, int shard) {
+        return new MoveResult(ownerId, shard, shardRebalancer.move(ownerId, shard));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOut.shutdownNow();
+    }
+
+    private ShardTotals totals(int shard) {
+        return new JdbcTemplate(shards.shard(shard)).queryForObject(SHARD_TOTALS,
+                (rs, rowNum) -> new ShardTotals(shard, rs.getLong("owners"), rs.getLong("tasks")));
+    }
+
+    public record ShardTotals(int shard, long owners, long tasks) {
+    }
+
+    public record MoveResult(long ownerId, int shard, long tasksMoved) {
+    }
+}
@@ -3,13 +3,16 @@ package com.arnavgautam.taskmanager.controller;
 import com.arnavgautam.taskmanager.dto.auth.AuthRequest;
 import com.arnavgautam.taskmanager.dto.auth.AuthResponse;
 import com.arnavgautam.taskmanager.dto.auth.RegisterRequest;
+import com.arnavgautam.taskmanager.security.LoginThrottle;
 import com.arnavgautam.taskmanager.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,12 +22,14 @@ import java.util.Map;
  * Controller for authentication endpoints
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 @Tag(name = "Authentication", description = "Authentication management APIs")
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginThrottle loginThrottle;
 
     @Operation(summary = "Register a new user")
     @ApiResponses(value = {
@@ -41,11 +46,15 @@ public class AuthController {
     @Operation(summary = "Authenticate user")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User authenticated successfully"),
-            @ApiResponse(responseCode = "401", description = "Invalid credentials")
+            @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+            @ApiResponse(responseCode = "429", description = "Too many login attempts")
     })
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest request) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest request, HttpServletRequest httpRequest) {
+        // Throttled before the service opens a transaction, so rejected attempts never touch the database
+        loginThrottle.checkAttempt(request.getUsername(), httpRequest.getRemoteAddr());
         AuthResponse response = authService.login(request);
+        loginThrottle.recordSuccess(request.getUsername());
         return ResponseEntity.ok(response);
     }
 
@@ -1,36 +1,63 @@
 package com.arnavgautam.taskmanager.controller;
 
+import com.arnavgautam.taskmanager.config.ShardContext;
+import com.arnavgautam.taskmanager.dto.task.BatchResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskChangesResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskFilter;
+import com.arnavgautam.taskmanager.dto.task.TaskPatchRequest;
 import com.arnavgautam.taskmanager.dto.task.TaskRequest;
 import com.arnavgautam.taskmanager.dto.task.TaskResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskSearchResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskSliceResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskSummaryResponse;
 import com.arnavgautam.taskmanager.entity.User;
-import com.arnavgautam.taskmanager.enums.Priority;
-import com.arnavgautam.taskmanager.enums.TaskStatus;
+import com.arnavgautam.taskmanager.enums.TaskDataFormat;
+import com.arnavgautam.taskmanager.exception.PreconditionFailedException;
+import com.arnavgautam.taskmanager.security.AuthenticatedUser;
+import com.arnavgautam.taskmanager.service.TaskBatchService;
+import com.arnavgautam.taskmanager.service.TaskCounterService;
+import com.arnavgautam.taskmanager.service.TaskExportService;
+import com.arnavgautam.taskmanager.service.TaskImportService;
+import com.arnavgautam.taskmanager.service.TaskSearchService;
 import com.arnavgautam.taskmanager.service.TaskService;
-import com.arnavgautam.taskmanager.service.UserService;
+import com.arnavgautam.taskmanager.service.TaskStreamService;
+import com.arnavgautam.taskmanager.service.TaskSyncService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDate;
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Controller for task management endpoints
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/tasks")
 @RequiredArgsConstructor
 @SecurityRequirement(name = "bearerAuth")
@@ -38,7 +65,13 @@ import java.util.Map;
 public class TaskController {
 
     private final TaskService taskService;
-    private final UserService userService;
+    private final TaskBatchService taskBatchService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final TaskCounterService taskCounterService;
+    private final TaskSyncService taskSyncService;
+    private final TaskSearchService taskSearchService;
+    private final TaskStreamService taskStreamService;
 
     @Operation(summary = "Create a new task")
     @ApiResponses(value = {
@@ -55,62 +88,278 @@ public class TaskController {
         return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "Get all tasks with optional filters")
+    @Operation(summary = "Get all tasks with optional filters",
+            description = "Responses carry an ETag; send it back in If-None-Match to get 304 while nothing has changed")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
     public ResponseEntity<Page<TaskResponse>> getTasks(
-            @Parameter(description = "Filter by status") @RequestParam(required = false) TaskStatus status,
-            @Parameter(description = "Filter by priority") @RequestParam(required = false) Priority priority,
-            @Parameter(description = "Filter by due date") @RequestParam(required = false) 
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
+            @ParameterObject TaskFilter filter,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy,
             @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication authentication) {
 
         User user = getCurrentUser(authentication);
+
+        // Read the list version before the data, so a concurrent write can only make the tag older
+        String etag = TaskETags.forList(taskService.getListVersion(user),
+                "page|" + filter + "|" + page + "|" + size + "|" + sortBy + "|" + sortDir);
+        if (TaskETags.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<TaskResponse> tasks = taskService.getTasks(user, status, priority, dueDate, pageable);
-        return ResponseEntity.ok(tasks);
+        Page<TaskResponse> tasks = taskService.getTasks(user, filter, pageable);
+        return ResponseEntity.ok().eTag(etag).body(tasks);
+    }
+
+    @Operation(summary = "Scroll tasks with cursor pagination",
+            description = "Keyset pagination over creation time, newest first. Pass the returned nextCursor to fetch the next slice.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or slice size"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<TaskSliceResponse> scrollTasks(
+            @ParameterObject TaskFilter filter,
+            @Parameter(description = "Cursor from the previous slice; omit for the first slice") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Slice size") @RequestParam(defaultValue = "10") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Authentication authentication) {
+
+        User user = getCurrentUser(authentication);
+
+        String etag = TaskETags.forList(taskService.getListVersion(user), "scroll|" + filter + "|" + cursor + "|" + size);
+        if (TaskETags.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
+        TaskSliceResponse tasks = taskService.getTaskSlice(user, filter, cursor, size);
+        return ResponseEntity.ok().eTag(etag).body(tasks);
     }
 
-    @Operation(summary = "Get task by ID")
+    @Operation(summary = "Search tasks",
+            description = "Full-text search over titles and descriptions. Every word must match, as a prefix; " +
+                    "results are ranked with title matches first and can be combined with the list filters.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Empty query or invalid page size"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchResponse> searchTasks(
+            @Parameter(description = "Search words") @RequestParam String q,
+            @ParameterObject TaskFilter filter,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        TaskSearchResponse results = taskSearchService.search(user, q, filter, page, size);
+        return ResponseEntity.ok(results);
+    }
+
+    @Operation(summary = "Get task changes since a sync token",
+            description = "Delta sync: tasks created or updated and IDs of tasks deleted after the token, oldest first. " +
+                    "Omit 'since' for a full initial sync; keep calling with nextToken while hasMore is true.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid token or limit"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponse> getChanges(
+            @Parameter(description = "nextToken from the previous call; omit for a full sync") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes to return") @RequestParam(defaultValue = "100") int limit,
+            Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        TaskChangesResponse changes = taskSyncService.getChanges(user, since, limit);
+        return ResponseEntity.ok(changes);
+    }
+
+    @Operation(summary = "Stream task changes",
+            description = "Server-Sent Events: 'created', 'updated' and 'deleted' events for the caller's tasks as they commit. " +
+                    "Reconnect with Last-Event-ID to resume; a 'resync' event means changes were missed and " +
+                    "the client should catch up via /api/tasks/changes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTasks(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        return taskStreamService.subscribe(user, lastEventId);
+    }
+
+    @Operation(summary = "Get task summary",
+            description = "Task counts by status and priority, plus the number of overdue tasks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summary retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/summary")
+    public ResponseEntity<TaskSummaryResponse> getSummary(Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        TaskSummaryResponse summary = taskCounterService.getSummary(user);
+        return ResponseEntity.ok(summary);
+    }
+
+    @Operation(summary = "Export tasks",
+            description = "Streams all matching tasks as NDJSON or CSV; gzip-compressed when the client accepts it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @ParameterObject TaskFilter filter,
+            @Parameter(description = "Export format: ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            Authentication authentication) {
+
+        User user = getCurrentUser(authentication);
+        TaskDataFormat exportFormat = TaskDataFormat.from(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        // The body is written on an async thread without the SecurityContext, so name the owner's shard explicitly
+        StreamingResponseBody body = outputStream -> {
+            try (ShardContext.Scope scope = ShardContext.forOwner(user.getId())) {
+                if (gzip) {
+                    GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 8192);
+                    taskExportService.export(user, filter, exportFormat, gzipStream);
+                    gzipStream.finish();
+                } else {
+                    taskExportService.export(user, filter, exportFormat, outputStream);
+                }
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @Operation(summary = "Import tasks",
+            description = "Streams tasks from an NDJSON or CSV body (CSV needs a header row with at least a title column). " +
+                    "Rows are inserted in chunks; the response is an NDJSON report with one line per rejected row, " +
+                    "a progress line per chunk and a final summary")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed; see the streamed report"),
+            @ApiResponse(responseCode = "400", description = "Missing or invalid CSV header"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "415", description = "Unsupported content type")
+    })
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public void importTasks(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Authentication authentication) throws IOException {
+        User user = getCurrentUser(authentication);
+        TaskDataFormat importFormat = TaskDataFormat.fromContentType(request.getContentType());
+
+        response.setContentType(TaskDataFormat.NDJSON.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        taskImportService.importTasks(user, importFormat, request.getInputStream(), response.getOutputStream());
+    }
+
+    @Operation(summary = "Get task by ID",
+            description = "Responses carry an ETag; send it back in If-None-Match to get 304 while the task is unchanged")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Task not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponse> getTaskById(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication authentication) {
         User user = getCurrentUser(authentication);
+        long listVersion = taskService.getListVersion(user);
+
+        List<TaskETags.TaskTag> cached = TaskETags.parseTaskTags(ifNoneMatch, id, false);
+        if (!cached.isEmpty()) {
+            // Nothing of the owner's has changed since the tag was issued
+            for (TaskETags.TaskTag tag : cached) {
+                if (tag.listVersion() == listVersion) {
+                    return notModified(TaskETags.forTask(id, tag.version(), listVersion));
+                }
+            }
+            // Something has; a version-only probe decides whether it was this task
+            Optional<Long> version = taskService.getTaskVersion(id, user);
+            if (version.isPresent() && cached.stream().anyMatch(tag -> tag.version() == version.get())) {
+                return notModified(TaskETags.forTask(id, version.get(), listVersion));
+            }
+        }
+
         TaskResponse response = taskService.getTaskById(id, user);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(TaskETags.forTask(id, response.getVersion(), listVersion))
+                .body(response);
     }
 
-    @Operation(summary = "Update task")
+    @Operation(summary = "Update task",
+            description = "With If-Match, the update only applies if the task is still at the version in the ETag")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task updated successfully"),
             @ApiResponse(responseCode = "404", description = "Task not found"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "412", description = "Task no longer matches If-Match"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> updateTask(
             @PathVariable Long id,
             @Valid @RequestBody TaskRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
         User user = getCurrentUser(authentication);
-        TaskResponse response = taskService.updateTask(id, request, user);
-        return ResponseEntity.ok(response);
+        TaskResponse response = taskService.updateTask(id, request, user, expectedVersion(ifMatch, id));
+        return ResponseEntity.ok()
+                .eTag(TaskETags.forTask(id, response.getVersion(), taskService.getListVersion(user)))
+                .body(response);
+    }
+
+    @Operation(summary = "Partially update task",
+            description = "Writes only the fields present in the body, in a single statement. " +
+                    "With If-Match, the update only applies if the task is still at the version in the ETag")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task updated successfully"),
+            @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "412", description = "Task no longer matches If-Match"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PatchMapping("/{id}")
+    public ResponseEntity<TaskResponse> patchTask(
+            @PathVariable Long id,
+            @Valid @RequestBody TaskPatchRequest patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        TaskResponse response = taskService.patchTask(id, patch, user, expectedVersion(ifMatch, id));
+        return ResponseEntity.ok()
+                .eTag(TaskETags.forTask(id, response.getVersion(), taskService.getListVersion(user)))
+                .body(response);
     }
 
     @Operation(summary = "Delete task")
@@ -128,9 +377,76 @@ public class TaskController {
         return ResponseEntity.ok(Map.of("message", "Task deleted successfully"));
     }
 
+    @Operation(summary = "Create tasks in bulk",
+            description = "Validates each item independently and inserts the valid ones in JDBC batches")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse> createTasks(
+            @RequestBody List<TaskRequest> requests,
+            Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        BatchResponse response = taskBatchService.createTasks(requests, user);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Update tasks in bulk",
+            description = "Applies the non-null fields of each item to the task with the item's id")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PatchMapping("/batch")
+    public ResponseEntity<BatchResponse> updateTasks(
+            @RequestBody List<TaskPatchRequest> patches,
+            Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        BatchResponse response = taskBatchService.updateTasks(patches, user);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Delete tasks in bulk")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResponse> deleteTasks(
+            @RequestBody List<Long> ids,
+            Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        BatchResponse response = taskBatchService.deleteTasks(ids, user);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * The task version an If-Match header requires, or null if it sets no condition
+     */
+    private static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || TaskETags.isWildcard(ifMatch)) {
+            return null;
+        }
+        List<TaskETags.TaskTag> tags = TaskETags.parseTaskTags(ifMatch, id, true);
+        if (tags.isEmpty()) {
+            throw new PreconditionFailedException("If-Match does not name a version of task with ID: " + id);
+        }
+        return tags.get(0).version();
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    /**
+     * Resolve the owner from the principal the JWT filter already placed in the SecurityContext
+     */
     private User getCurrentUser(Authentication authentication) {
-        String username = authentication.getName();
-        return userService.findByUsernameOrEmail(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        return principal.toOwner();
     }
 }
@@ -0,0 +1,92 @@
+package com.arnavgautam.taskmanager.controller;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strong entity tags for task resources.
+ *
+ * <p>A single task is tagged {@code "<id>.<version>.<listVersion>"}. The list version lets an
+ * unchanged owner revalidate without touching the tasks table; when it has moved on, the task
+ * version alone still decides. Collections are tagged with the list version and a digest of
+ * the query, since any write by the owner may change any page.
+ */
+final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    static String forTask(Long id, Long version, long listVersion) {
+        return "\"" + id + "." + version + "." + listVersion + "\"";
+    }
+
+    static String forList(long listVersion, String query) {
+        String digest = DigestUtils.md5DigestAsHex(query.getBytes(StandardCharsets.UTF_8));
+        return "\"L" + listVersion + "-" + digest + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header lists the given tag, or is a wildcard
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Task tags for the given ID listed in a conditional header; weak tags are skipped
+     * when strong comparison is required
+     */
+    static List<TaskTag> parseTaskTags(String header, Long id, boolean strong) {
+        List<TaskTag> tags = new ArrayList<>();
+        if (header == null) {
+            return tags;
+        }
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                if (strong) {
+                    continue;
+                }
+                tag = tag.substring(2);
+            }
+            if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+                continue;
+            }
+            String[] parts = tag.substring(1, tag.length() - 1).split("\\.");
+            if (parts.length != 3) {
+                continue;
+            }
+            try {
+                if (Long.parseLong(parts[0]) == id) {
+                    tags.add(new TaskTag(Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+                }
+            } catch (NumberFormatException ignored) {
+                // Not one of ours
+            }
+        }
+        return tags;
+    }
+
+    static boolean isWildcard(String header) {
+        return header != null && header.trim().equals("*");
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    record TaskTag(long version, long listVersion) {
+    }
+}
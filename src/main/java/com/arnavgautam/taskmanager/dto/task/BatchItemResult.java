@@ -0,0 +1,33 @@
+package com.arnavgautam.taskmanager.dto.task;
+
+import com.arnavgautam.taskmanager.enums.BatchItemStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of one item in a batch request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Batch item result")
+public class BatchItemResult {
+
+    @Schema(description = "Zero-based position of the item in the request", example = "0")
+    private int index;
+
+    @Schema(description = "Task ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Item outcome", example = "CREATED")
+    private BatchItemStatus status;
+
+    @Schema(description = "Reason the item was not applied")
+    private String message;
+}
@@ -0,0 +1,32 @@
+package com.arnavgautam.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for batch operation responses
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Batch operation response")
+public class BatchResponse {
+
+    @Schema(description = "Number of items in the request", example = "100")
+    private int total;
+
+    @Schema(description = "Number of items applied", example = "98")
+    private int succeeded;
+
+    @Schema(description = "Number of items rejected", example = "2")
+    private int failed;
+
+    @Schema(description = "Per-item results, in request order")
+    private List<BatchItemResult> results;
+}
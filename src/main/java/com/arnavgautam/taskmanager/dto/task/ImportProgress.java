@@ -0,0 +1,42 @@
+package com.arnavgautam.taskmanager.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one line of the NDJSON import report: a row error, a progress update or the final summary
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Import report line")
+public class ImportProgress {
+
+    public static final String ERROR = "error";
+    public static final String PROGRESS = "progress";
+    public static final String SUMMARY = "summary";
+
+    @Schema(description = "Line type: error, progress or summary", example = "progress")
+    private String type;
+
+    @Schema(description = "One-based data row number the error refers to", example = "42")
+    private Long row;
+
+    @Schema(description = "Why the row was rejected")
+    private String message;
+
+    @Schema(description = "Rows read so far", example = "5000")
+    private Long processed;
+
+    @Schema(description = "Rows imported so far", example = "4998")
+    private Long imported;
+
+    @Schema(description = "Rows rejected so far", example = "2")
+    private Long failed;
+}
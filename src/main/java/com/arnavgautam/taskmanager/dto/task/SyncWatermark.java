@@ -0,0 +1,46 @@
+package com.arnavgautam.taskmanager.dto.task;
+
+import com.arnavgautam.taskmanager.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque delta-sync position: changes strictly after (changedAt, id) have not been sent yet.
+ * The initial flag marks the pages of a first, full sync, during which tombstone retention
+ * does not matter.
+ */
+@Getter
+@AllArgsConstructor
+public class SyncWatermark {
+
+    private final Instant changedAt;
+    private final Long id;
+    private final boolean initial;
+
+    public static SyncWatermark start() {
+        return new SyncWatermark(Instant.EPOCH, 0L, true);
+    }
+
+    public String encode() {
+        String raw = changedAt.getEpochSecond() + ":" + changedAt.getNano() + ":" + id + ":" + (initial ? "i" : "d");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncWatermark decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 4 || !(parts[3].equals("i") || parts[3].equals("d"))) {
+                throw new BadRequestException("Invalid sync token: " + token);
+            }
+            Instant changedAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new SyncWatermark(changedAt, Long.parseLong(parts[2]), parts[3].equals("i"));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException("Invalid sync token: " + token);
+        }
+    }
+}
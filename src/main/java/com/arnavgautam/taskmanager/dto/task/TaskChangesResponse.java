@@ -0,0 +1,35 @@
+package com.arnavgautam.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for delta sync responses
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Tasks changed since a sync token")
+public class TaskChangesResponse {
+
+    @Schema(description = "Tasks created or updated since the token, oldest change first")
+    private List<TaskResponse> changed;
+
+    @Schema(description = "IDs of tasks deleted since the token")
+    private List<Long> deleted;
+
+    @Schema(description = "Whether more changes are waiting; if so, call again with nextToken right away")
+    private boolean hasMore;
+
+    @Schema(description = "Token to pass as 'since' on the next call")
+    private String nextToken;
+
+    @Schema(description = "The token is older than the tombstone retention; discard local state and sync again without 'since'")
+    private boolean reset;
+}
@@ -0,0 +1,47 @@
+package com.arnavgautam.taskmanager.dto.task;
+
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Optional task list filters; only the filters that are present reach SQL
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Task filters")
+public class TaskFilter {
+
+    @Schema(description = "Filter by status; repeat or comma-separate for several", example = "TODO")
+    private List<TaskStatus> status;
+
+    @Schema(description = "Filter by priority; repeat or comma-separate for several", example = "HIGH")
+    private List<Priority> priority;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(description = "Filter by exact due date", example = "2024-01-15")
+    private LocalDate dueDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(description = "Due on or before this date", example = "2024-01-31")
+    private LocalDate dueBefore;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(description = "Due on or after this date", example = "2024-01-01")
+    private LocalDate dueAfter;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Schema(description = "Created at or after this instant", example = "2024-01-01T00:00:00Z")
+    private Instant createdSince;
+}
@@ -0,0 +1,43 @@
+package com.arnavgautam.taskmanager.dto.task;
+
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for partial task updates; only non-null fields are applied
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Partial task update")
+public class TaskPatchRequest {
+
+    @Schema(description = "Task ID (required in batch updates)", example = "1")
+    private Long id;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Title must not be blank")
+    @Size(max = 150, message = "Title must be less than 150 characters")
+    @Schema(description = "Task title", example = "Complete project documentation")
+    private String title;
+
+    @Size(max = 1000, message = "Description must be less than 1000 characters")
+    @Schema(description = "Task description", example = "Write comprehensive README and API documentation")
+    private String description;
+
+    @Schema(description = "Task status", example = "IN_PROGRESS")
+    private TaskStatus status;
+
+    @Schema(description = "Task priority", example = "HIGH")
+    private Priority priority;
+
+    @Schema(description = "Due date", example = "2024-01-15")
+    private LocalDate dueDate;
+}
@@ -45,6 +45,9 @@ public class TaskResponse {
     @Schema(description = "Last update timestamp")
     private Instant updatedAt;
 
+    @Schema(description = "Version, incremented on every update", example = "3")
+    private Long version;
+
     @Schema(description = "Task owner information")
     private OwnerInfo owner;
 
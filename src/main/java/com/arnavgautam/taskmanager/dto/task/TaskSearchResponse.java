@@ -0,0 +1,32 @@
+package com.arnavgautam.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a page of full-text search results
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Ranked task search results")
+public class TaskSearchResponse {
+
+    @Schema(description = "Matching tasks, best match first")
+    private List<TaskResponse> content;
+
+    @Schema(description = "Page number (0-based)")
+    private int page;
+
+    @Schema(description = "Number of tasks requested")
+    private int size;
+
+    @Schema(description = "Whether more matches follow this page")
+    private boolean hasNext;
+}
@@ -0,0 +1,32 @@
+package com.arnavgautam.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a cursor-paginated slice of tasks
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Cursor-paginated task slice")
+public class TaskSliceResponse {
+
+    @Schema(description = "Tasks in this slice, newest first")
+    private List<TaskResponse> content;
+
+    @Schema(description = "Number of tasks requested")
+    private int size;
+
+    @Schema(description = "Whether more tasks follow this slice")
+    private boolean hasNext;
+
+    @Schema(description = "Opaque cursor for the next slice; absent on the last slice")
+    private String nextCursor;
+}
@@ -0,0 +1,30 @@
+package com.arnavgautam.taskmanager.dto.task;
+
+import com.arnavgautam.taskmanager.enums.TaskChangeType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the data of one task change event on the SSE stream
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Task change event")
+public class TaskStreamEvent {
+
+    @Schema(description = "Kind of change", example = "UPDATED")
+    private TaskChangeType type;
+
+    @Schema(description = "ID of the changed task", example = "1")
+    private Long taskId;
+
+    @Schema(description = "Task after the change; absent for deletes")
+    private TaskResponse task;
+}
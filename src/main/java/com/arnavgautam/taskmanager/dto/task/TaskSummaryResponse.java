@@ -0,0 +1,34 @@
+package com.arnavgautam.taskmanager.dto.task;
+
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for a user's task counts
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Task summary")
+public class TaskSummaryResponse {
+
+    @Schema(description = "Total number of tasks", example = "42")
+    private long total;
+
+    @Schema(description = "Task counts by status")
+    private Map<TaskStatus, Long> byStatus;
+
+    @Schema(description = "Task counts by priority")
+    private Map<Priority, Long> byPriority;
+
+    @Schema(description = "Tasks past their due date that are not done", example = "3")
+    private long overdue;
+}
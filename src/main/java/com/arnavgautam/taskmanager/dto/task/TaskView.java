@@ -0,0 +1,25 @@
+package com.arnavgautam.taskmanager.dto.task;
+
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import lombok.Value;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of a task row, selected directly by the repository without
+ * hydrating a managed entity or touching the owner association
+ */
+@Value
+public class TaskView {
+    Long id;
+    String title;
+    String description;
+    TaskStatus status;
+    Priority priority;
+    LocalDate dueDate;
+    Instant createdAt;
+    Instant updatedAt;
+    Long version;
+}
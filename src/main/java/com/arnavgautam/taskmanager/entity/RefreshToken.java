@@ -6,11 +6,11 @@ import lombok.*;
 import java.time.Instant;
 
 /**
- * Refresh Token entity for JWT token management
+ * Refresh Token entity for JWT token management. Only the SHA-256 digest of the token is
+ * stored; the raw token is held transiently so it can be returned when issued.
  */
 @Entity
 @Table(name = "refresh_tokens", indexes = {
-    @Index(name = "idx_refresh_token", columnList = "token"),
     @Index(name = "idx_refresh_token_user", columnList = "user_id")
 })
 @Data
@@ -23,7 +23,10 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(name = "token_hash", nullable = false, unique = true)
+    private byte[] tokenHash;
+
+    @Transient
     private String token;
 
     @Column(name = "expiry_date", nullable = false)
@@ -18,10 +18,11 @@ import java.time.LocalDate;
  */
 @Entity
 @Table(name = "tasks", indexes = {
-    @Index(name = "idx_task_owner", columnList = "owner_id"),
-    @Index(name = "idx_task_status", columnList = "status"),
-    @Index(name = "idx_task_priority", columnList = "priority"),
-    @Index(name = "idx_task_due_date", columnList = "due_date")
+    @Index(name = "idx_task_owner_created", columnList = "owner_id, created_at DESC, id DESC"),
+    @Index(name = "idx_task_owner_status_created", columnList = "owner_id, status, created_at DESC, id DESC"),
+    @Index(name = "idx_task_owner_priority_created", columnList = "owner_id, priority, created_at DESC, id DESC"),
+    @Index(name = "idx_task_owner_due_date", columnList = "owner_id, due_date"),
+    @Index(name = "idx_task_owner_updated", columnList = "owner_id, updated_at, id")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Data
@@ -31,7 +32,8 @@ import java.time.LocalDate;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_id_seq")
+    @SequenceGenerator(name = "task_id_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -64,6 +66,10 @@ public class Task {
     @Column(name = "updated_at")
     private Instant updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
     @ToString.Exclude
@@ -0,0 +1,12 @@
+package com.arnavgautam.taskmanager.enums;
+
+/**
+ * Enum representing the outcome of a single item in a batch operation
+ */
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    NOT_FOUND,
+    INVALID
+}
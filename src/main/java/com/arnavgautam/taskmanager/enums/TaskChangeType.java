@@ -0,0 +1,10 @@
+package com.arnavgautam.taskmanager.enums;
+
+/**
+ * Enum representing the kind of change made to a task
+ */
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,45 @@
+package com.arnavgautam.taskmanager.enums;
+
+import com.arnavgautam.taskmanager.exception.BadRequestException;
+
+/**
+ * Enum representing task import/export formats
+ */
+public enum TaskDataFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    TaskDataFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static TaskDataFormat from(String value) {
+        for (TaskDataFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported format: " + value);
+    }
+
+    public static TaskDataFormat fromContentType(String contentType) {
+        for (TaskDataFormat format : values()) {
+            if (contentType != null && contentType.toLowerCase().startsWith(format.contentType)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported content type: " + contentType);
+    }
+}
@@ -0,0 +1,10 @@
+package com.arnavgautam.taskmanager.exception;
+
+/**
+ * Exception thrown when a request is syntactically valid but carries unusable parameters
+ */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.arnavgautam.taskmanager.exception;
+
+/**
+ * Exception thrown when a conditional request's precondition (e.g. If-Match) does not hold
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.arnavgautam.taskmanager.exception;
+
+/**
+ * Exception thrown when the server is temporarily overloaded and the client should retry later
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.arnavgautam.taskmanager.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Read access to the transactions currently open on the database, from pg_stat_activity
+ */
+@Repository
+@RequiredArgsConstructor
+public class OpenTransactionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Start time of the oldest other transaction on this database that has written and not
+     * yet committed; empty if there is none. Only sessions of the application's own role are
+     * visible, which covers every writer of the task tables.
+     */
+    public Optional<Instant> findOldestWriteStart() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT min(xact_start) FROM pg_stat_activity " +
+                "WHERE datname = current_database() AND backend_xid IS NOT NULL AND pid <> pg_backend_pid()",
+                Timestamp.class);
+        return Optional.ofNullable(oldest).map(Timestamp::toInstant);
+    }
+}
@@ -18,21 +18,36 @@ import java.util.Optional;
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
     /**
-     * Find refresh token by token string
+     * Find refresh token, with its user, by the token's SHA-256 digest
      */
-    Optional<RefreshToken> findByToken(String token);
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user WHERE rt.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") byte[] tokenHash);
 
     /**
-     * Delete all refresh tokens for a user
+     * Replace a token's digest and expiry in place, only if it still has the expected digest;
+     * returns 0 if a concurrent refresh rotated it first
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken rt SET rt.tokenHash = :newHash, rt.expiryDate = :expiryDate " +
+           "WHERE rt.id = :id AND rt.tokenHash = :oldHash")
+    int rotate(@Param("id") Long id,
+               @Param("oldHash") byte[] oldHash,
+               @Param("newHash") byte[] newHash,
+               @Param("expiryDate") Instant expiryDate);
+
+    /**
+     * Delete all of a user's refresh tokens except the given number of newest ones
      */
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.user = :user")
-    void deleteByUser(@Param("user") User user);
+    @Query(value = "DELETE FROM refresh_tokens WHERE user_id = :userId AND id NOT IN (" +
+                   "SELECT id FROM refresh_tokens WHERE user_id = :userId " +
+                   "ORDER BY expiry_date DESC, id DESC LIMIT :keep)", nativeQuery = true)
+    int deleteAllButNewest(@Param("userId") Long userId, @Param("keep") int keep);
 
     /**
-     * Delete expired refresh tokens
+     * Delete all refresh tokens for a user
      */
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiryDate < :now")
-    void deleteAllExpiredTokens(@Param("now") Instant now);
+    @Query("DELETE FROM RefreshToken rt WHERE rt.user = :user")
+    void deleteByUser(@Param("user") User user);
 }
@@ -0,0 +1,38 @@
+package com.arnavgautam.taskmanager.repository;
+
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+
+/**
+ * Pending changes to one owner's task counters, accumulated in memory so a bulk write
+ * touches each (status, priority) counter row once
+ */
+public class TaskCounterDelta {
+
+    private final long[][] counts = new long[TaskStatus.values().length][Priority.values().length];
+
+    public TaskCounterDelta add(TaskStatus status, Priority priority, long delta) {
+        counts[status.ordinal()][priority.ordinal()] += delta;
+        return this;
+    }
+
+    public TaskCounterDelta move(TaskStatus fromStatus, Priority fromPriority, TaskStatus toStatus, Priority toPriority) {
+        add(fromStatus, fromPriority, -1);
+        return add(toStatus, toPriority, 1);
+    }
+
+    public long get(TaskStatus status, Priority priority) {
+        return counts[status.ordinal()][priority.ordinal()];
+    }
+
+    public boolean isEmpty() {
+        for (long[] row : counts) {
+            for (long count : row) {
+                if (count != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
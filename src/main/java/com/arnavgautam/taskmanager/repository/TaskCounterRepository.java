@@ -0,0 +1,113 @@
+package com.arnavgautam.taskmanager.repository;
+
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC access to the task_counters table. Increments are upserts, so concurrent writers
+ * for the same owner serialize on the counter row instead of racing a read-modify-write.
+ *
+ * <p>Every counter write first takes the owner's advisory lock in shared mode and a rebuild
+ * takes it exclusively, so a rebuild waits for in-flight writers and new writers, including
+ * ones creating an owner's first counter row, wait for the rebuild.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskCounterRepository {
+
+    // The two-key form keeps these apart from the single-key advisory locks BatchPurger takes
+    private static final int OWNER_LOCK_SPACE = 0x636e74;
+
+    static final String LOCK_OWNER_SHARED = "SELECT pg_advisory_xact_lock_shared(" + OWNER_LOCK_SPACE + ", ?)";
+
+    private static final String UPSERT = "INSERT INTO task_counters (owner_id, status, priority, task_count) " +
+            "VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (owner_id, status, priority) DO UPDATE SET task_count = task_counters.task_count + EXCLUDED.task_count";
+
+    private static final String REPLACE = "INSERT INTO task_counters (owner_id, status, priority, task_count) " +
+            "VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (owner_id, status, priority) DO UPDATE SET task_count = EXCLUDED.task_count";
+
+    private static final RowMapper<TaskGroupCount> GROUP_COUNT = (rs, rowNum) -> new TaskGroupCount(
+            TaskStatus.valueOf(rs.getString("status")),
+            Priority.valueOf(rs.getString("priority")),
+            rs.getLong("task_count"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Apply the non-zero entries of a delta to the owner's counters
+     */
+    public void increment(Long ownerId, TaskCounterDelta delta) {
+        List<Object[]> rows = new ArrayList<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            for (Priority priority : Priority.values()) {
+                long count = delta.get(status, priority);
+                if (count != 0) {
+                    rows.add(new Object[]{ownerId, status.name(), priority.name(), count});
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.query(LOCK_OWNER_SHARED, rs -> null, ownerLockKey(ownerId));
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+        }
+    }
+
+    /**
+     * Take the owner's counter lock exclusively until the end of the transaction, waiting for
+     * in-flight writers; their later counter writes wait in turn
+     */
+    public void lockOwner(Long ownerId) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(" + OWNER_LOCK_SPACE + ", ?)", rs -> null, ownerLockKey(ownerId));
+    }
+
+    /**
+     * The owner's counters
+     */
+    public List<TaskGroupCount> findByOwnerId(Long ownerId) {
+        return jdbcTemplate.query(
+                "SELECT status, priority, task_count FROM task_counters WHERE owner_id = ?", GROUP_COUNT, ownerId);
+    }
+
+    /**
+     * Count the owner's tasks from the base table
+     */
+    public List<TaskGroupCount> countTasksByOwnerId(Long ownerId) {
+        return jdbcTemplate.query(
+                "SELECT status, priority, count(*) AS task_count FROM tasks WHERE owner_id = ? GROUP BY status, priority",
+                GROUP_COUNT, ownerId);
+    }
+
+    /**
+     * Overwrite the owner's counters with the given counts; groups not listed are zeroed
+     */
+    public void replace(Long ownerId, List<TaskGroupCount> counts) {
+        jdbcTemplate.update("UPDATE task_counters SET task_count = 0 WHERE owner_id = ?", ownerId);
+        List<Object[]> rows = counts.stream()
+                .map(c -> new Object[]{ownerId, c.getStatus().name(), c.getPriority().name(), c.getCount()})
+                .toList();
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(REPLACE, rows);
+        }
+    }
+
+    static int ownerLockKey(Long ownerId) {
+        return Long.hashCode(ownerId);
+    }
+
+    /**
+     * A page of owner IDs in ascending order, starting after the given one
+     */
+    public List<Long> findOwnerIdsAfter(Long afterId, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?", Long.class, afterId, limit);
+    }
+}
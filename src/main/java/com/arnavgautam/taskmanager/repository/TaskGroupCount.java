@@ -0,0 +1,15 @@
+package com.arnavgautam.taskmanager.repository;
+
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import lombok.Value;
+
+/**
+ * Number of tasks sharing a status and priority
+ */
+@Value
+public class TaskGroupCount {
+    TaskStatus status;
+    Priority priority;
+    long count;
+}
@@ -0,0 +1,34 @@
+package com.arnavgautam.taskmanager.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC access to the task_list_versions table: one counter per owner that changes whenever
+ * any of the owner's tasks is created, updated or deleted
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskListVersionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Advance the owner's list version
+     */
+    public void bump(Long ownerId) {
+        jdbcTemplate.update("INSERT INTO task_list_versions (owner_id, version) VALUES (?, 1) " +
+                "ON CONFLICT (owner_id) DO UPDATE SET version = task_list_versions.version + 1", ownerId);
+    }
+
+    /**
+     * The owner's current list version; 0 if the owner has never written a task
+     */
+    public long findVersion(Long ownerId) {
+        return jdbcTemplate.queryForList("SELECT version FROM task_list_versions WHERE owner_id = ?", Long.class, ownerId)
+                .stream()
+                .findFirst()
+                .orElse(0L);
+    }
+}
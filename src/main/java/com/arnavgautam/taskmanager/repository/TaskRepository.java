@@ -7,11 +7,14 @@ import com.arnavgautam.taskmanager.enums.TaskStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,7 +22,8 @@ import java.util.Optional;
  * Repository interface for Task entity
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskRepositoryCustom {
 
     /**
      * Find all tasks by owner
@@ -31,6 +35,12 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      */
     Optional<Task> findByIdAndOwner(Long id, User owner);
 
+    /**
+     * Current version of the owner's task, without loading the row into the persistence context
+     */
+    @Query("SELECT t.version FROM Task t WHERE t.id = :id AND t.owner.id = :ownerId")
+    Optional<Long> findVersionByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
     /**
      * Find tasks by owner and status
      */
@@ -46,27 +56,38 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      */
     Page<Task> findByOwnerAndDueDate(User owner, LocalDate dueDate, Pageable pageable);
 
-    /**
-     * Find tasks by owner with multiple filters
-     */
-    @Query("SELECT t FROM Task t WHERE t.owner = :owner " +
-           "AND (:status IS NULL OR t.status = :status) " +
-           "AND (:priority IS NULL OR t.priority = :priority) " +
-           "AND (:dueDate IS NULL OR t.dueDate = :dueDate)")
-    Page<Task> findByOwnerWithFilters(
-        @Param("owner") User owner,
-        @Param("status") TaskStatus status,
-        @Param("priority") Priority priority,
-        @Param("dueDate") LocalDate dueDate,
-        Pageable pageable
-    );
-
     /**
      * Find overdue tasks
      */
     @Query("SELECT t FROM Task t WHERE t.owner = :owner AND t.dueDate < :currentDate AND t.status != 'DONE'")
     List<Task> findOverdueTasks(@Param("owner") User owner, @Param("currentDate") LocalDate currentDate);
 
+    /**
+     * IDs among the given ones that belong to the owner
+     */
+    @Query("SELECT t.id FROM Task t WHERE t.owner.id = :ownerId AND t.id IN :ids")
+    List<Long> findIdsByOwnerIdAndIdIn(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Status/priority breakdown of the owner's tasks among the given IDs
+     */
+    @Query("SELECT new com.arnavgautam.taskmanager.repository.TaskGroupCount(t.status, t.priority, COUNT(t)) " +
+            "FROM Task t WHERE t.owner.id = :ownerId AND t.id IN :ids GROUP BY t.status, t.priority")
+    List<TaskGroupCount> countGroupsByOwnerIdAndIdIn(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Bulk delete the owner's tasks with the given IDs
+     */
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.owner.id = :ownerId AND t.id IN :ids")
+    int deleteByOwnerIdAndIdIn(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Count the owner's open tasks due before the given date
+     */
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.owner.id = :ownerId AND t.dueDate < :currentDate AND t.status != 'DONE'")
+    long countOverdueByOwnerId(@Param("ownerId") Long ownerId, @Param("currentDate") LocalDate currentDate);
+
     /**
      * Count tasks by owner and status
      */
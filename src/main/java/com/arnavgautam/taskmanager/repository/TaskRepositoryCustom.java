@@ -0,0 +1,38 @@
+package com.arnavgautam.taskmanager.repository;
+
+import com.arnavgautam.taskmanager.dto.task.TaskView;
+import com.arnavgautam.taskmanager.entity.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Custom task queries that Spring Data cannot derive
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Page of task projections matching the specification; counts only when the page is full
+     */
+    Page<TaskView> findViews(Specification<Task> spec, Pageable pageable);
+
+    /**
+     * At most {@code size} task projections matching the specification, without a count query
+     */
+    Slice<TaskView> findViewSlice(Specification<Task> spec, Sort sort, int size);
+
+    /**
+     * Stream task projections through a server-side cursor; must be consumed inside a transaction
+     */
+    Stream<TaskView> streamViews(Specification<Task> spec, Sort sort, int fetchSize);
+
+    /**
+     * Projection of a single task if it belongs to the owner
+     */
+    Optional<TaskView> findViewByIdAndOwnerId(Long id, Long ownerId);
+}
@@ -0,0 +1,36 @@
+package com.arnavgautam.taskmanager.repository;
+
+import com.arnavgautam.taskmanager.dto.task.TaskView;
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+
+/**
+ * Row mapping shared by the JDBC task repositories
+ */
+final class TaskRows {
+
+    /**
+     * Maps the id, title, description, status, priority, due_date, created_at, updated_at and version columns
+     */
+    static final RowMapper<TaskView> VIEW = (rs, rowNum) -> {
+        Date dueDate = rs.getDate("due_date");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return new TaskView(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                TaskStatus.valueOf(rs.getString("status")),
+                Priority.valueOf(rs.getString("priority")),
+                dueDate != null ? dueDate.toLocalDate() : null,
+                rs.getTimestamp("created_at").toInstant(),
+                updatedAt != null ? updatedAt.toInstant() : null,
+                rs.getLong("version"));
+    };
+
+    private TaskRows() {
+    }
+}
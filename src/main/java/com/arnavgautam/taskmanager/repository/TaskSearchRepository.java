@@ -0,0 +1,84 @@
+package com.arnavgautam.taskmanager.repository;
+
+import com.arnavgautam.taskmanager.dto.task.TaskFilter;
+import com.arnavgautam.taskmanager.dto.task.TaskView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full-text search over the tasks.search_vector generated column. Matching and ranking run
+ * in Postgres against the search_vector GIN index; ownership and the regular task filters are
+ * checked as plain predicates on the rows it returns.
+ *
+ * <p>The GIN index is not owner-scoped (that needs btree_gin), so a common term reads every
+ * owner's postings. When that is estimated to cost more, the planner walks the owner's btree
+ * index instead and tests each of their rows, which costs time in proportion to their task count.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskSearchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The owner's tasks matching the tsquery and filter, best ranked first
+     */
+    public List<TaskView> search(Long ownerId, String tsQuery, TaskFilter filter, int offset, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(
+                "SELECT t.id, t.title, t.description, t.status, t.priority, t.due_date, t.created_at, t.updated_at, " +
+                "t.version, ts_rank_cd(t.search_vector, q) AS rank " +
+                "FROM tasks t, to_tsquery('english', ?) q " +
+                "WHERE t.owner_id = ? AND t.search_vector @@ q");
+        args.add(tsQuery);
+        args.add(ownerId);
+        appendFilter(sql, args, filter);
+        sql.append(" ORDER BY rank DESC, t.created_at DESC, t.id DESC LIMIT ? OFFSET ?");
+        args.add(limit);
+        args.add(offset);
+
+        return jdbcTemplate.query(sql.toString(), TaskRows.VIEW, args.toArray());
+    }
+
+    private static void appendFilter(StringBuilder sql, List<Object> args, TaskFilter filter) {
+        if (filter == null) {
+            return;
+        }
+        appendIn(sql, args, "t.status", filter.getStatus());
+        appendIn(sql, args, "t.priority", filter.getPriority());
+        if (filter.getDueDate() != null) {
+            sql.append(" AND t.due_date = ?");
+            args.add(Date.valueOf(filter.getDueDate()));
+        }
+        if (filter.getDueAfter() != null) {
+            sql.append(" AND t.due_date >= ?");
+            args.add(Date.valueOf(filter.getDueAfter()));
+        }
+        if (filter.getDueBefore() != null) {
+            sql.append(" AND t.due_date <= ?");
+            args.add(Date.valueOf(filter.getDueBefore()));
+        }
+        if (filter.getCreatedSince() != null) {
+            sql.append(" AND t.created_at >= ?");
+            args.add(Timestamp.from(filter.getCreatedSince()));
+        }
+    }
+
+    private static void appendIn(StringBuilder sql, List<Object> args, String column, List<? extends Enum<?>> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        sql.append(" AND ").append(column).append(" IN (");
+        for (int i = 0; i < values.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            args.add(values.get(i).name());
+        }
+        sql.append(')');
+    }
+}
@@ -0,0 +1,112 @@
+package com.arnavgautam.taskmanager.repository;
+
+import com.arnavgautam.taskmanager.dto.task.SyncWatermark;
+import com.arnavgautam.taskmanager.dto.task.TaskCursor;
+import com.arnavgautam.taskmanager.dto.task.TaskFilter;
+import com.arnavgautam.taskmanager.entity.Task;
+import com.arnavgautam.taskmanager.entity.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Specifications for task queries. Predicates are only added for filters that are present,
+ * so each filter combination gets its own SQL shape and its own plan.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Tasks owned by the given user, compared on the foreign key (no join to users)
+     */
+    public static Specification<Task> ownedBy(User owner) {
+        return (root, query, cb) -> cb.equal(root.get("owner").get("id"), owner.getId());
+    }
+
+    /**
+     * Tasks with one of the given IDs
+     */
+    public static Specification<Task> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Tasks matching every filter that is set
+     */
+    public static Specification<Task> matching(TaskFilter filter) {
+        return (root, query, cb) -> {
+            if (filter == null) {
+                return cb.and();
+            }
+            List<Predicate> predicates = new ArrayList<>();
+
+            addIn(predicates, root.get("status"), filter.getStatus(), cb);
+            addIn(predicates, root.get("priority"), filter.getPriority(), cb);
+
+            Path<LocalDate> dueDate = root.get("dueDate");
+            if (filter.getDueDate() != null) {
+                predicates.add(cb.equal(dueDate, filter.getDueDate()));
+            }
+            if (filter.getDueAfter() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(dueDate, filter.getDueAfter()));
+            }
+            if (filter.getDueBefore() != null) {
+                predicates.add(cb.lessThanOrEqualTo(dueDate, filter.getDueBefore()));
+            }
+            if (filter.getCreatedSince() != null) {
+                Path<Instant> createdAt = root.get("createdAt");
+                predicates.add(cb.greaterThanOrEqualTo(createdAt, filter.getCreatedSince()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Tasks strictly after the cursor in (createdAt DESC, id DESC) order
+     */
+    public static Specification<Task> after(TaskCursor cursor) {
+        return (root, query, cb) -> {
+            Path<Instant> createdAt = root.get("createdAt");
+            Path<Long> id = root.get("id");
+            return cb.or(
+                    cb.lessThan(createdAt, cursor.getCreatedAt()),
+                    cb.and(cb.equal(createdAt, cursor.getCreatedAt()), cb.lessThan(id, cursor.getId())));
+        };
+    }
+
+    /**
+     * Tasks changed strictly after the watermark in (updatedAt, id) order, up to the horizon
+     */
+    public static Specification<Task> changedAfter(SyncWatermark watermark, Instant horizon) {
+        return (root, query, cb) -> {
+            Path<Instant> updatedAt = root.get("updatedAt");
+            Path<Long> id = root.get("id");
+            return cb.and(
+                    cb.or(
+                            cb.greaterThan(updatedAt, watermark.getChangedAt()),
+                            cb.and(cb.equal(updatedAt, watermark.getChangedAt()), cb.greaterThan(id, watermark.getId()))),
+                    cb.lessThanOrEqualTo(updatedAt, horizon));
+        };
+    }
+
+    private static void addIn(List<Predicate> predicates, Path<?> path, Collection<?> values, CriteriaBuilder cb) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        if (values.size() == 1) {
+            predicates.add(cb.equal(path, values.iterator().next()));
+        } else {
+            predicates.add(path.in(values));
+        }
+    }
+}
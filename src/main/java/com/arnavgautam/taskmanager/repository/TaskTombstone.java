@@ -0,0 +1,14 @@
+package com.arnavgautam.taskmanager.repository;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Record of a deleted task
+ */
+@Value
+public class TaskTombstone {
+    Long taskId;
+    Instant deletedAt;
+}
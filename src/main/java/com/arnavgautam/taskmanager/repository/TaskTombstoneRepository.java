@@ -0,0 +1,50 @@
+package com.arnavgautam.taskmanager.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC access to the task_tombstones table
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskTombstoneRepository {
+
+    private static final RowMapper<TaskTombstone> TOMBSTONE = (rs, rowNum) -> new TaskTombstone(
+            rs.getLong("task_id"),
+            rs.getTimestamp("deleted_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Record the owner's tasks as deleted
+     */
+    public void insert(Long ownerId, Collection<Long> taskIds, Instant deletedAt) {
+        Timestamp timestamp = Timestamp.from(deletedAt);
+        List<Object[]> rows = taskIds.stream()
+                .map(taskId -> new Object[]{taskId, ownerId, timestamp})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO task_tombstones (task_id, owner_id, deleted_at) VALUES (?, ?, ?) " +
+                "ON CONFLICT (task_id) DO NOTHING", rows);
+    }
+
+    /**
+     * The owner's tombstones strictly after (deletedAt, taskId) and no later than the horizon,
+     * in that order
+     */
+    public List<TaskTombstone> findAfter(Long ownerId, Instant afterDeletedAt, Long afterTaskId, Instant horizon,
+                                         int limit) {
+        Timestamp after = Timestamp.from(afterDeletedAt);
+        return jdbcTemplate.query("SELECT task_id, deleted_at FROM task_tombstones " +
+                        "WHERE owner_id = ? AND (deleted_at > ? OR (deleted_at = ? AND task_id > ?)) AND deleted_at <= ? " +
+                        "ORDER BY deleted_at, task_id LIMIT ?",
+                TOMBSTONE, ownerId, after, after, afterTaskId, Timestamp.from(horizon), limit);
+    }
+}
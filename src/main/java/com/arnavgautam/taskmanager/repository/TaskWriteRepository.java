@@ -0,0 +1,146 @@
+package com.arnavgautam.taskmanager.repository;
+
+import com.arnavgautam.taskmanager.dto.task.TaskView;
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Single-statement task mutations. Each update or delete is one round trip: the task row,
+ * the owner's summary counters, list version and (for deletes) tombstone are all written by
+ * one statement through data-modifying CTEs, and ownership is part of the WHERE clause, so
+ * no row is read or hydrated first. The statement takes the owner's shared counter lock, as
+ * {@link TaskCounterRepository#increment} does, before it touches the task.
+ *
+ * <p>The reactive task API (src/reactive/java) runs these statements too, so both variants
+ * keep the bookkeeping identical.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskWriteRepository {
+
+    static final String OWNER_LOCK = "owner_lock AS (" + TaskCounterRepository.LOCK_OWNER_SHARED + "), ";
+
+    static final String BUMP_COUNTERS_AND_VERSION =
+            "counters AS (" +
+            "INSERT INTO task_counters (owner_id, status, priority, task_count) " +
+            "SELECT upd.owner_id, c.status, c.priority, c.delta FROM upd " +
+            "CROSS JOIN LATERAL (VALUES (upd.old_status, upd.old_priority, -1), (upd.status, upd.priority, 1)) " +
+            "AS c(status, priority, delta) " +
+            "WHERE upd.old_status <> upd.status OR upd.old_priority <> upd.priority " +
+            "ON CONFLICT (owner_id, status, priority) DO UPDATE SET task_count = task_counters.task_count + EXCLUDED.task_count), " +
+            "versions AS (" +
+            "INSERT INTO task_list_versions (owner_id, version) SELECT owner_id, 1 FROM upd " +
+            "ON CONFLICT (owner_id) DO UPDATE SET version = task_list_versions.version + 1) ";
+
+    static final String DELETE =
+            "WITH " + OWNER_LOCK + "del AS (" +
+            "DELETE FROM tasks WHERE id = ? AND owner_id = ? AND EXISTS (SELECT 1 FROM owner_lock) " +
+            "RETURNING id, owner_id, status, priority), " +
+            "counters AS (" +
+            "INSERT INTO task_counters (owner_id, status, priority, task_count) " +
+            "SELECT owner_id, status, priority, -1 FROM del " +
+            "ON CONFLICT (owner_id, status, priority) DO UPDATE SET task_count = task_counters.task_count + EXCLUDED.task_count), " +
+            "tombstones AS (" +
+            "INSERT INTO task_tombstones (task_id, owner_id, deleted_at) SELECT id, owner_id, ? FROM del " +
+            "ON CONFLICT (task_id) DO NOTHING), " +
+            "versions AS (" +
+            "INSERT INTO task_list_versions (owner_id, version) SELECT owner_id, 1 FROM del " +
+            "ON CONFLICT (owner_id) DO UPDATE SET version = task_list_versions.version + 1) " +
+            "SELECT count(*) FROM del";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Write only the given columns of the owner's task, advancing its version and updated_at.
+     * With an expected version the task must still be at it. Returns the updated task, or empty
+     * if the owner has no such task at the expected version.
+     */
+    public Optional<TaskView> update(Long ownerId, Long id, Changes changes, Long expectedVersion, Instant updatedAt) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("WITH " + OWNER_LOCK + "old AS (" +
+                "SELECT id, status, priority FROM tasks WHERE id = ? AND owner_id = ? AND EXISTS (SELECT 1 FROM owner_lock)");
+        args.add(TaskCounterRepository.ownerLockKey(ownerId));
+        args.add(id);
+        args.add(ownerId);
+        if (expectedVersion != null) {
+            sql.append(" AND version = ?");
+            args.add(expectedVersion);
+        }
+        // Locking the row here keeps the old status and priority, used for the counters, exact
+        sql.append(" FOR UPDATE), upd AS (UPDATE tasks t SET ");
+        for (Map.Entry<String, Object> column : changes.columns.entrySet()) {
+            sql.append(column.getKey()).append(" = ?, ");
+            args.add(column.getValue());
+        }
+        sql.append("version = t.version + 1, updated_at = ? FROM old WHERE t.id = old.id " +
+                "RETURNING t.*, old.status AS old_status, old.priority AS old_priority), ");
+        args.add(Timestamp.from(updatedAt));
+        sql.append(BUMP_COUNTERS_AND_VERSION);
+        sql.append("SELECT id, title, description, status, priority, due_date, created_at, updated_at, version FROM upd");
+
+        return jdbcTemplate.query(sql.toString(), TaskRows.VIEW, args.toArray()).stream().findFirst();
+    }
+
+    /**
+     * Delete the owner's task, recording its tombstone; returns false if the owner has no such task
+     */
+    public boolean delete(Long ownerId, Long id, Instant deletedAt) {
+        Integer deleted = jdbcTemplate.queryForObject(DELETE, Integer.class,
+                TaskCounterRepository.ownerLockKey(ownerId), id, ownerId, Timestamp.from(deletedAt));
+        return deleted != null && deleted > 0;
+    }
+
+    /**
+     * Columns to write in an update; only those set are included in the statement
+     */
+    public static class Changes {
+
+        private final Map<String, Object> columns = new LinkedHashMap<>();
+
+        public Changes title(String title) {
+            columns.put("title", title);
+            return this;
+        }
+
+        public Changes description(String description) {
+            columns.put("description", description);
+            return this;
+        }
+
+        public Changes status(TaskStatus status) {
+            columns.put("status", status.name());
+            return this;
+        }
+
+        public Changes priority(Priority priority) {
+            columns.put("priority", priority.name());
+            return this;
+        }
+
+        public Changes dueDate(LocalDate dueDate) {
+            columns.put("due_date", dueDate != null ? Date.valueOf(dueDate) : null);
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return columns.isEmpty();
+        }
+
+        Map<String, Object> columns() {
+            return columns;
+        }
+    }
+}
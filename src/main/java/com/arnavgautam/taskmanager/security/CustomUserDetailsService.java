@@ -1,35 +1,55 @@
 package com.arnavgautam.taskmanager.security;
 
+import com.arnavgautam.taskmanager.config.ShardContext;
+import com.arnavgautam.taskmanager.config.ShardRoutingDataSource;
 import com.arnavgautam.taskmanager.entity.User;
 import com.arnavgautam.taskmanager.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-
 /**
- * Custom UserDetailsService implementation
+ * Custom UserDetailsService implementation; also stores rehashed passwords after a login.
+ * Users are always read from shard 0, including from the JWT filter on requests that carry
+ * a bearer token.
  */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
+    // Read-write so it runs on the primary: a login must see a just-registered user or changed password
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
-        User user = userRepository.findByUsernameOrEmail(usernameOrEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + usernameOrEmail));
+        try (ShardContext.Scope scope = ShardContext.forShard(ShardRoutingDataSource.PRIMARY_SHARD)) {
+            User user = userRepository.findByUsernameOrEmail(usernameOrEmail)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + usernameOrEmail));
+
+            return AuthenticatedUser.from(user);
+        }
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        try (ShardContext.Scope scope = ShardContext.forShard(ShardRoutingDataSource.PRIMARY_SHARD)) {
+            User user = userRepository.findByUsername(userDetails.getUsername())
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userDetails.getUsername()));
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(new ArrayList<>()) // Add roles/authorities here if needed
-                .build();
+            user.setPassword(newPassword);
+            userRepository.save(user);
+            principalCache.invalidate(user.getUsername());
+            log.info("Rehashed password for user: {}", user.getUsername());
+            return AuthenticatedUser.from(user);
+        }
     }
 }
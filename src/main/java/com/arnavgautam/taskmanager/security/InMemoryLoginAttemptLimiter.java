@@ -0,0 +1,61 @@
+package com.arnavgautam.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free, per-node {@link LoginAttemptLimiter}. Each bucket is a single {@link AtomicLong}
+ * holding its theoretical arrival time (the generic cell rate algorithm, equivalent to a token
+ * bucket), updated by compare-and-set. Buckets live in a size-bounded cache and expire once
+ * idle long enough to be full again, so a flood of unique keys cannot grow memory without bound.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.login-throttle.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLoginAttemptLimiter implements LoginAttemptLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public InMemoryLoginAttemptLimiter(MeterRegistry meterRegistry,
+                                       @Value("${auth.login-throttle.maximum-keys:100000}") long maximumKeys,
+                                       @Value("${auth.login-throttle.idle-expiry:15m}") Duration idleExpiry) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idleExpiry)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "login-attempts");
+    }
+
+    @Override
+    public Duration tryAcquire(String key, int capacity, Duration refillInterval) {
+        long interval = refillInterval.toNanos();
+        long tolerance = interval * (capacity - 1);
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            long now = System.nanoTime();
+            long current = arrival.get();
+            long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long wait = start - tolerance - now;
+            if (wait > 0) {
+                return Duration.ofNanos(wait);
+            }
+            if (arrival.compareAndSet(current, start + interval)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    @Override
+    public void reset(String key) {
+        buckets.invalidate(key);
+    }
+}
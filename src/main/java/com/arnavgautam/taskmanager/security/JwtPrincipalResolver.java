@@ -0,0 +1,72 @@
+package com.arnavgautam.taskmanager.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a bearer token into the request principal, for the servlet filter and the reactive
+ * bearer authentication alike. Tokens seen before are answered from the verified-token cache.
+ * Otherwise the token is parsed once (signature and expiry verified) and, in stateless mode,
+ * the principal comes straight from the claims; tokens issued without the user id claim (or
+ * stateless mode disabled) fall back to the principal cache, which may load the user.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtPrincipalResolver {
+
+    private final JwtUtil jwtUtil;
+    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Value("${jwt.stateless:true}")
+    private boolean stateless;
+
+    /**
+     * The principal for a token, or null if it names no subject.
+     * Throws a {@link io.jsonwebtoken.JwtException} if the token is invalid or expired.
+     */
+    public AuthenticatedUser resolve(String jwt) {
+        AuthenticatedUser principal = fromClaims(jwt);
+        return principal != null ? principal : lookUp(jwt);
+    }
+
+    /**
+     * The principal without touching the database: from the verified-token cache or the token's
+     * own claims. Null if the token needs {@link #lookUp}.
+     */
+    public AuthenticatedUser fromClaims(String jwt) {
+        if (!stateless) {
+            return null;
+        }
+        AuthenticatedUser cached = verifiedTokenCache.get(jwt);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = jwtUtil.parseClaims(jwt);
+        AuthenticatedUser principal = claims.getSubject() != null ? jwtUtil.toPrincipal(claims) : null;
+        if (principal != null) {
+            verifiedTokenCache.put(jwt, principal, claims.getExpiration());
+        }
+        return principal;
+    }
+
+    /**
+     * The principal from the principal cache, loading the user on a miss; blocks on the database
+     */
+    public AuthenticatedUser lookUp(String jwt) {
+        Claims claims = jwtUtil.parseClaims(jwt);
+        if (claims.getSubject() == null) {
+            return null;
+        }
+        return principalCache.get(claims.getSubject(), this::loadPrincipal);
+    }
+
+    private AuthenticatedUser loadPrincipal(String username) {
+        return ((AuthenticatedUser) userDetailsService.loadUserByUsername(username)).withoutCredentials();
+    }
+}
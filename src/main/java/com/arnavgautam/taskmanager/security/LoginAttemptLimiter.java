@@ -0,0 +1,22 @@
+package com.arnavgautam.taskmanager.security;
+
+import java.time.Duration;
+
+/**
+ * Token-bucket store for login attempts. The in-memory implementation is per node; a shared
+ * implementation (e.g. backed by Redis) can replace it with {@code auth.login-throttle.store}.
+ */
+public interface LoginAttemptLimiter {
+
+    /**
+     * Take one token from the key's bucket, which holds at most {@code capacity} tokens and
+     * regains one every {@code refillInterval}. Returns 0 if a token was taken, otherwise
+     * how long until one will be available.
+     */
+    Duration tryAcquire(String key, int capacity, Duration refillInterval);
+
+    /**
+     * Refill the key's bucket
+     */
+    void reset(String key);
+}
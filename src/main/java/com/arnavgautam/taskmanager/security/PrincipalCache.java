@@ -0,0 +1,53 @@
+package com.arnavgautam.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals keyed by JWT subject.
+ * Hit, miss and eviction counts are published as the "principals" cache metrics.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${auth.principal-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${auth.principal-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    /**
+     * Get the principal for a subject, loading it once on a miss
+     */
+    public AuthenticatedUser get(String subject, Function<String, AuthenticatedUser> loader) {
+        return cache.get(subject, loader);
+    }
+
+    /**
+     * Drop a cached principal; call whenever the underlying user changes
+     */
+    public void invalidate(String subject) {
+        log.debug("Invalidating cached principal: {}", subject);
+        cache.invalidate(subject);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
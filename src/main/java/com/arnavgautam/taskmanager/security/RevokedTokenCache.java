@@ -0,0 +1,40 @@
+package com.arnavgautam.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Short-lived negative cache of refresh tokens known to be unknown, expired or already rotated,
+ * keyed by the SHA-256 digest of the token, so that repeated invalid or replayed tokens are
+ * rejected without a database lookup.
+ */
+@Component
+public class RevokedTokenCache {
+
+    private final Cache<String, Boolean> cache;
+
+    public RevokedTokenCache(MeterRegistry meterRegistry,
+                             @Value("${jwt.refresh-negative-cache.maximum-size:100000}") long maximumSize,
+                             @Value("${jwt.refresh-negative-cache.ttl:1m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "revoked_refresh_tokens");
+    }
+
+    public boolean contains(String token) {
+        return cache.getIfPresent(TokenDigests.sha256Key(token)) != null;
+    }
+
+    public void add(String token) {
+        cache.put(TokenDigests.sha256Key(token), Boolean.TRUE);
+    }
+}
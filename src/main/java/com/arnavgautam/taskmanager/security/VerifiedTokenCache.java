@@ -0,0 +1,73 @@
+package com.arnavgautam.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size-bounded cache of already-verified access tokens, keyed by the SHA-256 digest of the
+ * compact token. Each entry expires at the token's own "exp", so a hit is always a token that
+ * would still pass full verification.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, Entry> cache;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${jwt.verified-cache.maximum-size:50000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verified_tokens");
+    }
+
+    /**
+     * Principal for a previously verified, unexpired token, or null on a miss
+     */
+    public AuthenticatedUser get(String token) {
+        Entry entry = cache.getIfPresent(TokenDigests.sha256Key(token));
+        return entry != null ? entry.principal() : null;
+    }
+
+    public void put(String token, AuthenticatedUser principal, Date expiration) {
+        if (expiration.getTime() > System.currentTimeMillis()) {
+            cache.put(TokenDigests.sha256Key(token), new Entry(principal, expiration.getTime()));
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private record Entry(AuthenticatedUser principal, long expiresAtMillis) {
+    }
+
+    private static class TokenExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            long remainingMillis = entry.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
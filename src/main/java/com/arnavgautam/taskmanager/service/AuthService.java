@@ -5,19 +5,23 @@ import com.arnavgautam.taskmanager.dto.auth.AuthResponse;
 import com.arnavgautam.taskmanager.dto.auth.RegisterRequest;
 import com.arnavgautam.taskmanager.entity.RefreshToken;
 import com.arnavgautam.taskmanager.entity.User;
-import com.arnavgautam.taskmanager.exception.ResourceNotFoundException;
+import com.arnavgautam.taskmanager.security.AuthenticatedUser;
 import com.arnavgautam.taskmanager.security.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Service for authentication operations
+ * Service for authentication operations. Registration and login hash a password, which takes
+ * far longer than any query, so they run without a transaction: each database step opens its
+ * own, and no connection is held while a hash is computed.
  */
 @Service
 @RequiredArgsConstructor
@@ -31,6 +35,7 @@ public class AuthService {
     private final UserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse register(RegisterRequest request) {
         log.info("Registering new user: {}", request.getUsername());
 
@@ -38,8 +43,7 @@ public class AuthService {
         User user = userService.createUser(request);
 
         // Generate tokens
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
-        String accessToken = jwtUtil.generateToken(userDetails);
+        String accessToken = jwtUtil.generateToken(AuthenticatedUser.from(user).withoutCredentials());
         RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
 
         return AuthResponse.builder()
@@ -55,22 +59,23 @@ public class AuthService {
                 .build();
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse login(AuthRequest request) {
         log.info("User login attempt: {}", request.getUsername());
 
-        // Authenticate user
-        authenticationManager.authenticate(
+        // Authenticate user; the user lookup and any rehash run in their own short transactions
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
         );
-
-        // Get user details
-        User user = userService.findByUsernameOrEmail(request.getUsername())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
-
-        // Generate tokens
-        String accessToken = jwtUtil.generateToken(userDetails);
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+
+        // Generate tokens; issuing the refresh token is the only write, in its own transaction
+        String accessToken = jwtUtil.generateToken(principal);
+        User user = User.builder()
+                .id(principal.getId())
+                .username(principal.getUsername())
+                .email(principal.getEmail())
+                .build();
         RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
 
         return AuthResponse.builder()
@@ -79,18 +84,16 @@ public class AuthService {
                 .tokenType("Bearer")
                 .expiresIn(jwtUtil.getExpirationTime())
                 .user(AuthResponse.UserInfo.builder()
-                        .id(user.getId())
-                        .username(user.getUsername())
-                        .email(user.getEmail())
+                        .id(principal.getId())
+                        .username(principal.getUsername())
+                        .email(principal.getEmail())
                         .build())
                 .build();
     }
 
     public AuthResponse refreshToken(String refreshTokenStr) {
-        RefreshToken refreshToken = refreshTokenService.findByToken(refreshTokenStr)
-                .orElseThrow(() -> new ResourceNotFoundException("Refresh token not found"));
-
-        refreshToken = refreshTokenService.verifyExpiration(refreshToken);
+        // The presented token is replaced, not reused; the response carries its successor
+        RefreshToken refreshToken = refreshTokenService.rotate(refreshTokenStr);
 
         User user = refreshToken.getUser();
         UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
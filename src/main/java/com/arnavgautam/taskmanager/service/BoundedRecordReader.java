@@ -0,0 +1,117 @@
+package com.arnavgautam.taskmanager.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental reader for NDJSON lines and RFC 4180 CSV records. Each record is capped at a
+ * maximum length, counting every field and separator; the excess is consumed and dropped, so
+ * one oversized record cannot grow memory with the input.
+ */
+class BoundedRecordReader {
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    private int recordLength;
+    private boolean truncated;
+
+    BoundedRecordReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Whether the last record read exceeded the length cap
+     */
+    boolean wasTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Next line without its terminator, or null at end of input
+     */
+    String readLine() throws IOException {
+        truncated = false;
+        recordLength = 0;
+        StringBuilder line = new StringBuilder();
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n') {
+            if (c != '\r') {
+                append(line, c);
+            }
+            c = reader.read();
+        }
+        return line.toString();
+    }
+
+    /**
+     * Next CSV record as a list of fields, or null at end of input. Quoted fields may
+     * contain delimiters, doubled quotes and line breaks.
+     */
+    List<String> readCsvRecord() throws IOException {
+        truncated = false;
+        recordLength = 0;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (c == -1) {
+                fields.add(field.toString());
+                return fields;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next == '"') {
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    append(field, c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                // The separator counts too, so a record of many empty fields is capped as well
+                if (fits()) {
+                    fields.add(field.toString());
+                }
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                append(field, c);
+            }
+            c = reader.read();
+        }
+    }
+
+    private void append(StringBuilder builder, int c) {
+        if (fits()) {
+            builder.append((char) c);
+        }
+    }
+
+    private boolean fits() {
+        if (recordLength < maxRecordLength) {
+            recordLength++;
+            return true;
+        }
+        truncated = true;
+        return false;
+    }
+}
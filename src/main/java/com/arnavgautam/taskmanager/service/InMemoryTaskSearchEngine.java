@@ -0,0 +1,188 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.config.ShardContext;
+import com.arnavgautam.taskmanager.dto.task.TaskFilter;
+import com.arnavgautam.taskmanager.dto.task.TaskResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskStreamEvent;
+import com.arnavgautam.taskmanager.dto.task.TaskView;
+import com.arnavgautam.taskmanager.entity.User;
+import com.arnavgautam.taskmanager.enums.TaskChangeType;
+import com.arnavgautam.taskmanager.exception.ServiceUnavailableException;
+import com.arnavgautam.taskmanager.repository.TaskCounterRepository;
+import com.arnavgautam.taskmanager.repository.TaskRepository;
+import com.arnavgautam.taskmanager.repository.TaskSpecifications;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Search engine holding an inverted index of every task in this process, one
+ * {@link OwnerSearchIndex} per owner. It is kept current from committed task change events
+ * and rebuilt from the database at startup, loading owners in parallel; searches are
+ * rejected with 503 until the rebuild finishes.
+ *
+ * <p>Events only reach the node that committed the change, so on several nodes each index
+ * misses the others' writes until restarted; use the postgres engine there. Words are
+ * matched as written, without the stemming the postgres engine applies.
+ */
+@Service
+@ConditionalOnProperty(name = "tasks.search.engine", havingValue = "memory")
+@Slf4j
+public class InMemoryTaskSearchEngine implements TaskSearchEngine {
+
+    private static final int OWNER_PAGE_SIZE = 500;
+    private static final Sort LOAD_ORDER = Sort.by("id");
+
+    private final TaskRepository taskRepository;
+    private final TaskCounterRepository taskCounterRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<Long, OwnerSearchIndex> indexes = new ConcurrentHashMap<>();
+    // Tasks deleted while the rebuild runs, so a row it read just before the delete is not indexed
+    private final Set<Long> deletedWhileLoading = ConcurrentHashMap.newKeySet();
+    private final ExecutorService loader;
+    private final int fetchSize;
+    private volatile boolean ready;
+
+    public InMemoryTaskSearchEngine(TaskRepository taskRepository,
+                                    TaskCounterRepository taskCounterRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${tasks.search.memory.rebuild-threads:4}") int rebuildThreads,
+                                    @Value("${tasks.search.memory.fetch-size:500}") int fetchSize) {
+        this.taskRepository = taskRepository;
+        this.taskCounterRepository = taskCounterRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("task-search-rebuild-");
+        threadFactory.setDaemon(true);
+        this.loader = Executors.newFixedThreadPool(rebuildThreads, threadFactory);
+
+        Gauge.builder("tasks.search.index.documents", indexes,
+                        all -> all.values().stream().mapToLong(OwnerSearchIndex::size).sum())
+                .description("Tasks held in the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("tasks.search.index.bytes", indexes,
+                        all -> all.values().stream().mapToLong(OwnerSearchIndex::estimatedBytes).sum())
+                .description("Estimated heap used by the in-memory search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<TaskView> search(Long ownerId, List<String> terms, TaskFilter filter, int offset, int limit) {
+        if (!ready) {
+            throw new ServiceUnavailableException("Search index is still loading; please retry shortly");
+        }
+        OwnerSearchIndex index = indexes.get(ownerId);
+        return index != null ? index.search(terms, filter, offset, limit) : List.of();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskStreamEvent change = event.getChange();
+        if (change.getType() == TaskChangeType.DELETED) {
+            if (!ready) {
+                deletedWhileLoading.add(change.getTaskId());
+            }
+            OwnerSearchIndex index = indexes.get(event.getOwnerId());
+            if (index != null) {
+                index.remove(change.getTaskId());
+            }
+        } else {
+            indexFor(event.getOwnerId()).put(toView(change.getTask()));
+        }
+    }
+
+    /**
+     * Start loading every owner's tasks once the application is serving
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("task-search-rebuild-main-");
+        threadFactory.setDaemon(true);
+        threadFactory.newThread(this::loadAll).start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    private void loadAll() {
+        long started = System.nanoTime();
+        long owners = 0;
+        try {
+            Long lastId = 0L;
+            List<Long> ownerIds;
+            do {
+                ownerIds = taskCounterRepository.findOwnerIdsAfter(lastId, OWNER_PAGE_SIZE);
+                List<Future<?>> loads = new ArrayList<>(ownerIds.size());
+                for (Long ownerId : ownerIds) {
+                    loads.add(loader.submit(() -> load(ownerId)));
+                    lastId = ownerId;
+                }
+                for (Future<?> load : loads) {
+                    load.get();
+                }
+                owners += ownerIds.size();
+            } while (ownerIds.size() == OWNER_PAGE_SIZE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Search index rebuild was interrupted");
+            return;
+        } catch (Exception e) {
+            log.error("Search index rebuild failed; searches stay unavailable", e);
+            return;
+        }
+
+        ready = true;
+        deletedWhileLoading.clear();
+        log.info("Loaded search index for {} owners in {} ms", owners, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void load(Long ownerId) {
+        OwnerSearchIndex index = indexFor(ownerId);
+        User owner = User.builder().id(ownerId).build();
+        try (ShardContext.Scope scope = ShardContext.forOwner(ownerId)) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TaskView> rows = taskRepository.streamViews(TaskSpecifications.ownedBy(owner), LOAD_ORDER, fetchSize)) {
+                    // put keeps a newer version already indexed from an event
+                    rows.filter(task -> !deletedWhileLoading.contains(task.getId())).forEach(index::put);
+                }
+            });
+        }
+    }
+
+    private OwnerSearchIndex indexFor(Long ownerId) {
+        return indexes.computeIfAbsent(ownerId, id -> new OwnerSearchIndex());
+    }
+
+    private static TaskView toView(TaskResponse task) {
+        return new TaskView(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getPriority(), task.getDueDate(), task.getCreatedAt(), task.getUpdatedAt(), task.getVersion());
+    }
+}
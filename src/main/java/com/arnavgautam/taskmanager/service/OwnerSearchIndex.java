@@ -0,0 +1,394 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.dto.task.TaskFilter;
+import com.arnavgautam.taskmanager.dto.task.TaskView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over one owner's tasks. Each task version occupies a dense int
+ * slot; every title and description word maps to a posting list of slots held in a growable
+ * int array. Updates and deletes retire the old slot, and retired slots are compacted away
+ * once they outnumber live ones. Reads share a lock; writes are exclusive.
+ *
+ * <p>A search starts from the term with the fewest postings: its live slots become the
+ * candidates, and each further term, in order of rarity, keeps only the candidates found in
+ * its posting lists. Lookups gallop forward through the sorted lists, so the work follows the
+ * rarest term rather than the size of the index, and only surviving candidates are scored.
+ */
+final class OwnerSearchIndex {
+
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MIN_COMPACT_SLOTS = 64;
+
+    // Rough per-object costs for memory accounting on a 64-bit JVM with compressed oops
+    private static final long DOCUMENT_OVERHEAD_BYTES = 200;
+    private static final long TERM_OVERHEAD_BYTES = 100;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> titleTerms = new TreeMap<>();
+    private final NavigableMap<String, Postings> descriptionTerms = new TreeMap<>();
+    private final Map<Long, Integer> slotsByTaskId = new HashMap<>();
+    private TaskView[] documents = new TaskView[16];
+    private int slots;
+    private int live;
+    private long estimatedBytes;
+
+    /**
+     * Index a task, replacing an older version of it; an older version than the one indexed is ignored
+     */
+    void put(TaskView task) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotsByTaskId.get(task.getId());
+            if (existing != null) {
+                TaskView current = documents[existing];
+                if (current.getVersion() != null && task.getVersion() != null
+                        && current.getVersion() > task.getVersion()) {
+                    return;
+                }
+                retire(existing);
+            }
+            add(task);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByTaskId.get(taskId);
+            if (slot != null) {
+                retire(slot);
+                compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit live tasks, skipping the first offset, matching every term as a prefix and the filter
+     */
+    List<TaskView> search(List<String> terms, TaskFilter filter, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<TermPostings> byRarity = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                TermPostings postings = postingsFor(term);
+                if (postings.total == 0) {
+                    return List.of();
+                }
+                byRarity.add(postings);
+            }
+            byRarity.sort(Comparator.comparingLong(postings -> postings.total));
+
+            Candidates candidates = byRarity.get(0).union(documents);
+            for (int t = 1; t < byRarity.size() && candidates.size > 0; t++) {
+                byRarity.get(t).retain(candidates);
+            }
+
+            // Indexes into candidates of those passing the filter
+            List<Integer> hits = new ArrayList<>();
+            for (int i = 0; i < candidates.size; i++) {
+                if (matches(documents[candidates.slots[i]], filter)) {
+                    hits.add(i);
+                }
+            }
+
+            Comparator<Integer> bestFirst = Comparator.<Integer>comparingInt(i -> candidates.scores[i]).reversed()
+                    .thenComparing(i -> documents[candidates.slots[i]].getCreatedAt(), Comparator.reverseOrder())
+                    .thenComparing(i -> documents[candidates.slots[i]].getId(), Comparator.reverseOrder());
+            return hits.stream()
+                    .sorted(bestFirst)
+                    .skip(offset)
+                    .limit(limit)
+                    .map(i -> documents[candidates.slots[i]])
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap held by this index: documents, term dictionary and posting arrays
+     */
+    long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return estimatedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(TaskView task) {
+        if (slots == documents.length) {
+            documents = Arrays.copyOf(documents, slots * 2);
+            estimatedBytes += 4L * slots;
+        }
+        int slot = slots++;
+        documents[slot] = task;
+        slotsByTaskId.put(task.getId(), slot);
+        live++;
+
+        estimatedBytes += DOCUMENT_OVERHEAD_BYTES + textBytes(task);
+        index(titleTerms, task.getTitle(), slot);
+        index(descriptionTerms, task.getDescription(), slot);
+    }
+
+    private void retire(int slot) {
+        TaskView task = documents[slot];
+        documents[slot] = null;
+        slotsByTaskId.remove(task.getId());
+        live--;
+        // Postings of the retired slot stay until the next compaction
+        estimatedBytes -= DOCUMENT_OVERHEAD_BYTES + textBytes(task);
+    }
+
+    private void index(NavigableMap<String, Postings> terms, String text, int slot) {
+        for (String word : TaskSearchService.tokenize(text)) {
+            Postings postings = terms.get(word);
+            if (postings == null) {
+                postings = new Postings();
+                terms.put(word, postings);
+                estimatedBytes += TERM_OVERHEAD_BYTES + 2L * word.length();
+            }
+            estimatedBytes += postings.add(slot);
+        }
+    }
+
+    private void compactIfSparse() {
+        if (slots < MIN_COMPACT_SLOTS || slots - live <= live) {
+            return;
+        }
+        List<TaskView> liveDocuments = new ArrayList<>(live);
+        for (int slot = 0; slot < slots; slot++) {
+            if (documents[slot] != null) {
+                liveDocuments.add(documents[slot]);
+            }
+        }
+
+        titleTerms.clear();
+        descriptionTerms.clear();
+        slotsByTaskId.clear();
+        documents = new TaskView[Math.max(16, liveDocuments.size() * 2)];
+        slots = 0;
+        live = 0;
+        estimatedBytes = 4L * documents.length;
+        liveDocuments.forEach(this::add);
+    }
+
+    private TermPostings postingsFor(String prefix) {
+        return new TermPostings(withPrefix(titleTerms, prefix), withPrefix(descriptionTerms, prefix));
+    }
+
+    private static List<Postings> withPrefix(NavigableMap<String, Postings> terms, String prefix) {
+        // Every word starting with the prefix sorts between the prefix and the prefix followed by the highest char
+        return new ArrayList<>(terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+    }
+
+    private static boolean matches(TaskView task, TaskFilter filter) {
+        if (filter == null) {
+            return true;
+        }
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty() && !filter.getStatus().contains(task.getStatus())) {
+            return false;
+        }
+        if (filter.getPriority() != null && !filter.getPriority().isEmpty() && !filter.getPriority().contains(task.getPriority())) {
+            return false;
+        }
+        if (filter.getDueDate() != null && !filter.getDueDate().equals(task.getDueDate())) {
+            return false;
+        }
+        if (filter.getDueAfter() != null && (task.getDueDate() == null || task.getDueDate().isBefore(filter.getDueAfter()))) {
+            return false;
+        }
+        if (filter.getDueBefore() != null && (task.getDueDate() == null || task.getDueDate().isAfter(filter.getDueBefore()))) {
+            return false;
+        }
+        return filter.getCreatedSince() == null || !task.getCreatedAt().isBefore(filter.getCreatedSince());
+    }
+
+    private static long textBytes(TaskView task) {
+        long chars = (task.getTitle() != null ? task.getTitle().length() : 0)
+                + (task.getDescription() != null ? task.getDescription().length() : 0);
+        return 2 * chars;
+    }
+
+    /**
+     * Ascending candidate slots with the score each has accumulated so far
+     */
+    private static final class Candidates {
+
+        private final int[] slots;
+        private final int[] scores;
+        private int size;
+
+        Candidates(int capacity) {
+            this.slots = new int[capacity];
+            this.scores = new int[capacity];
+        }
+    }
+
+    /**
+     * The title and description posting lists of every word starting with one search term
+     */
+    private static final class TermPostings {
+
+        private final List<Postings> title;
+        private final List<Postings> description;
+        private final long total;
+
+        TermPostings(List<Postings> title, List<Postings> description) {
+            this.title = title;
+            this.description = description;
+            long sum = 0;
+            for (Postings postings : title) {
+                sum += postings.size;
+            }
+            for (Postings postings : description) {
+                sum += postings.size;
+            }
+            this.total = sum;
+        }
+
+        /**
+         * Live slots in any of the lists, ascending, scored by the heavier field they appear in
+         */
+        Candidates union(TaskView[] documents) {
+            // Slot in the high bits, title flag in the low bit, so sorting groups each slot's entries
+            long[] entries = new long[Math.toIntExact(total)];
+            int count = 0;
+            for (Postings postings : title) {
+                for (int i = 0; i < postings.size; i++) {
+                    entries[count++] = ((long) postings.slots[i] << 1) | 1;
+                }
+            }
+            for (Postings postings : description) {
+                for (int i = 0; i < postings.size; i++) {
+                    entries[count++] = (long) postings.slots[i] << 1;
+                }
+            }
+            Arrays.sort(entries, 0, count);
+
+            Candidates candidates = new Candidates(count);
+            for (int i = 0; i < count; i++) {
+                int slot = (int) (entries[i] >>> 1);
+                if (documents[slot] == null) {
+                    continue;
+                }
+                int weight = (entries[i] & 1) != 0 ? TITLE_WEIGHT : DESCRIPTION_WEIGHT;
+                int last = candidates.size - 1;
+                if (last >= 0 && candidates.slots[last] == slot) {
+                    candidates.scores[last] = Math.max(candidates.scores[last], weight);
+                } else {
+                    candidates.slots[++last] = slot;
+                    candidates.scores[last] = weight;
+                    candidates.size++;
+                }
+            }
+            return candidates;
+        }
+
+        /**
+         * Drop the candidates not in any of the lists and add this term's weight to the rest
+         */
+        void retain(Candidates candidates) {
+            int[] titleCursors = new int[title.size()];
+            int[] descriptionCursors = new int[description.size()];
+            int kept = 0;
+            for (int i = 0; i < candidates.size; i++) {
+                int slot = candidates.slots[i];
+                int weight = contains(title, titleCursors, slot) ? TITLE_WEIGHT
+                        : contains(description, descriptionCursors, slot) ? DESCRIPTION_WEIGHT : 0;
+                if (weight > 0) {
+                    candidates.slots[kept] = slot;
+                    candidates.scores[kept] = candidates.scores[i] + weight;
+                    kept++;
+                }
+            }
+            candidates.size = kept;
+        }
+
+        /**
+         * Whether any list holds the slot; slots are looked up in ascending order, so each
+         * list's cursor only moves forward
+         */
+        private static boolean contains(List<Postings> lists, int[] cursors, int slot) {
+            for (int j = 0; j < lists.size(); j++) {
+                Postings postings = lists.get(j);
+                int index = postings.seek(cursors[j], slot);
+                cursors[j] = index;
+                if (index < postings.size && postings.slots[index] == slot) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Ascending slots containing a word; slots are assigned in increasing order, so appends keep it sorted
+     */
+    private static final class Postings {
+
+        private int[] slots = new int[2];
+        private int size;
+
+        /**
+         * Append a slot if not already last; returns the bytes newly allocated
+         */
+        long add(int slot) {
+            if (size > 0 && slots[size - 1] == slot) {
+                return 0;
+            }
+            long allocated = 0;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                allocated = 4L * size;
+            }
+            slots[size++] = slot;
+            return allocated;
+        }
+
+        /**
+         * Index of the first entry at or after from that is not below the slot, or size if
+         * there is none; gallops ahead before a binary search, so the cost grows with the
+         * log of the distance skipped
+         */
+        int seek(int from, int slot) {
+            int low = from;
+            int high = from;
+            int step = 1;
+            while (high < size && slots[high] < slot) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int index = Arrays.binarySearch(slots, low, Math.min(high, size), slot);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.dto.task.TaskFilter;
+import com.arnavgautam.taskmanager.dto.task.TaskView;
+import com.arnavgautam.taskmanager.repository.TaskSearchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Search engine backed by the tasks.search_vector column and its GIN index; the default
+ */
+@Service
+@ConditionalOnProperty(name = "tasks.search.engine", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PostgresTaskSearchEngine implements TaskSearchEngine {
+
+    private final TaskSearchRepository taskSearchRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskView> search(Long ownerId, List<String> terms, TaskFilter filter, int offset, int limit) {
+        return taskSearchRepository.search(ownerId, toPrefixQuery(terms), filter, offset, limit);
+    }
+
+    /**
+     * A tsquery requiring every term as a prefix; terms are already stripped of tsquery syntax
+     */
+    private static String toPrefixQuery(List<String> terms) {
+        StringBuilder tsQuery = new StringBuilder();
+        for (String term : terms) {
+            if (!tsQuery.isEmpty()) {
+                tsQuery.append(" & ");
+            }
+            tsQuery.append(term).append(":*");
+        }
+        return tsQuery.toString();
+    }
+}
@@ -1,22 +1,28 @@
 package com.arnavgautam.taskmanager.service;
 
+import com.arnavgautam.taskmanager.config.ShardContext;
+import com.arnavgautam.taskmanager.config.ShardRoutingDataSource;
 import com.arnavgautam.taskmanager.entity.RefreshToken;
 import com.arnavgautam.taskmanager.entity.User;
 import com.arnavgautam.taskmanager.exception.ResourceNotFoundException;
 import com.arnavgautam.taskmanager.repository.RefreshTokenRepository;
+import com.arnavgautam.taskmanager.security.RevokedTokenCache;
+import com.arnavgautam.taskmanager.security.TokenDigests;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.Optional;
 import java.util.UUID;
 
 /**
- * Service for managing refresh tokens
+ * Service for managing refresh tokens. Tokens are looked up by their SHA-256 digest, rotated
+ * in place on every refresh, and capped per user. The table is on the primary database only;
+ * each method pins its queries there, whatever shard the caller's token would pick.
  */
 @Service
 @RequiredArgsConstructor
@@ -24,41 +30,95 @@ import java.util.UUID;
 @Transactional
 public class RefreshTokenService {
 
+    private static final BatchPurger.PurgeTarget PURGE_TARGET =
+            new BatchPurger.PurgeTarget("refresh-tokens", "refresh_tokens", "id", "expiry_date");
+
     private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedTokenCache revokedTokenCache;
+    private final BatchPurger batchPurger;
 
     @Value("${jwt.refresh-expiration}")
     private Long refreshTokenDurationMs;
 
+    @Value("${jwt.refresh-max-per-user:5}")
+    private int maxTokensPerUser;
+
+    /**
+     * Issue a new refresh token, dropping the user's oldest ones beyond the per-user cap
+     */
     public RefreshToken createRefreshToken(User user) {
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .token(UUID.randomUUID().toString())
-                .expiryDate(Instant.now().plusMillis(refreshTokenDurationMs))
-                .build();
+        try (ShardContext.Scope scope = ShardContext.forShard(ShardRoutingDataSource.PRIMARY_SHARD)) {
+            int removed = refreshTokenRepository.deleteAllButNewest(user.getId(), maxTokensPerUser - 1);
+            if (removed > 0) {
+                log.debug("Removed {} old refresh tokens for user: {}", removed, user.getUsername());
+            }
 
-        return refreshTokenRepository.save(refreshToken);
-    }
+            String token = UUID.randomUUID().toString();
+            RefreshToken refreshToken = RefreshToken.builder()
+                    .user(user)
+                    .token(token)
+                    .tokenHash(TokenDigests.sha256(token))
+                    .expiryDate(Instant.now().plusMillis(refreshTokenDurationMs))
+                    .build();
 
-    @Transactional(readOnly = true)
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+            return refreshTokenRepository.save(refreshToken);
+        }
     }
 
-    public RefreshToken verifyExpiration(RefreshToken token) {
-        if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
-            refreshTokenRepository.delete(token);
-            throw new ResourceNotFoundException("Refresh token was expired. Please make a new signin request");
+    /**
+     * Exchange a valid refresh token for a new one; the presented token stops working
+     */
+    public RefreshToken rotate(String token) {
+        try (ShardContext.Scope scope = ShardContext.forShard(ShardRoutingDataSource.PRIMARY_SHARD)) {
+            if (token == null || revokedTokenCache.contains(token)) {
+                throw new ResourceNotFoundException("Refresh token not found");
+            }
+
+            byte[] tokenHash = TokenDigests.sha256(token);
+            RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash)
+                    .orElseThrow(() -> revoked(token, "Refresh token not found"));
+
+            if (refreshToken.getExpiryDate().isBefore(Instant.now())) {
+                refreshTokenRepository.delete(refreshToken);
+                throw revoked(token, "Refresh token was expired. Please make a new signin request");
+            }
+
+            String newToken = UUID.randomUUID().toString();
+            byte[] newHash = TokenDigests.sha256(newToken);
+            Instant expiryDate = Instant.now().plusMillis(refreshTokenDurationMs);
+            if (refreshTokenRepository.rotate(refreshToken.getId(), tokenHash, newHash, expiryDate) == 0) {
+                throw revoked(token, "Refresh token not found");
+            }
+            revokedTokenCache.add(token);
+
+            // The update cleared the persistence context, so this copy is detached and only carries the response
+            refreshToken.setTokenHash(newHash);
+            refreshToken.setExpiryDate(expiryDate);
+            refreshToken.setToken(newToken);
+            return refreshToken;
         }
-        return token;
     }
 
     public void deleteByUser(User user) {
-        refreshTokenRepository.deleteByUser(user);
+        try (ShardContext.Scope scope = ShardContext.forShard(ShardRoutingDataSource.PRIMARY_SHARD)) {
+            refreshTokenRepository.deleteByUser(user);
+        }
     }
 
+    /**
+     * Purge expired tokens in batches, each in its own transaction
+     */
     @Scheduled(fixedRate = 3600000) // Run every hour
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteExpiredTokens() {
         log.debug("Cleaning up expired refresh tokens");
-        refreshTokenRepository.deleteAllExpiredTokens(Instant.now());
+        try (ShardContext.Scope scope = ShardContext.forShard(ShardRoutingDataSource.PRIMARY_SHARD)) {
+            batchPurger.purge(PURGE_TARGET, Instant.now());
+        }
+    }
+
+    private ResourceNotFoundException revoked(String token, String message) {
+        revokedTokenCache.add(token);
+        return new ResourceNotFoundException(message);
     }
 }
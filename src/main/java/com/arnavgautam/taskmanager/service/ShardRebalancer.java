@@ -0,0 +1,210 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.config.ShardDirectory;
+import com.arnavgautam.taskmanager.config.ShardRoutingDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves one owner's tasks between shards while the application keeps serving:
+ * <ol>
+ *     <li>copy every task and tombstone to the target while the owner keeps working</li>
+ *     <li>flag the owner as moving, which rejects their writes with 503, and wait out the drain
+ *     period so in-flight writes and cached directory entries on other instances settle</li>
+ *     <li>copy what changed since step 1 started, plus counters and list version, in one transaction</li>
+ *     <li>point the directory at the target, wait out the directory cache TTL so no instance
+ *     still reads from the source, then delete the owner's rows from the source in batches</li>
+ * </ol>
+ * Reads keep working throughout; if a step fails the owner stays on the source.
+ */
+@Service
+@ConditionalOnProperty(name = "tasks.db.shards.enabled", havingValue = "true")
+@Slf4j
+public class ShardRebalancer {
+
+    private static final String TASK_COLUMNS =
+            "id, title, description, status, priority, due_date, created_at, updated_at, owner_id, version";
+
+    private static final String UPSERT_TASK =
+            "INSERT INTO tasks (" + TASK_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (id) DO UPDATE SET title = EXCLUDED.title, description = EXCLUDED.description, " +
+            "status = EXCLUDED.status, priority = EXCLUDED.priority, due_date = EXCLUDED.due_date, " +
+            "created_at = EXCLUDED.created_at, updated_at = EXCLUDED.updated_at, version = EXCLUDED.version";
+
+    private static final String UPSERT_TOMBSTONE =
+            "INSERT INTO task_tombstones (task_id, owner_id, deleted_at) VALUES (?, ?, ?) " +
+            "ON CONFLICT (task_id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at";
+
+    private static final List<String> OWNER_TABLES =
+            List.of("tasks", "task_counters", "task_list_versions", "task_tombstones");
+
+    private final ShardRoutingDataSource shards;
+    private final ShardDirectory directory;
+    private final Duration drain;
+    private final Duration clockMargin;
+    private final int batchSize;
+    private final Timer moveTime;
+    private final Counter moved;
+
+    public ShardRebalancer(ShardRoutingDataSource shards,
+                           MeterRegistry meterRegistry,
+                           @Value("${tasks.db.shards.move-drain:10s}") Duration drain,
+                           @Value("${tasks.db.shards.move-clock-margin:5s}") Duration clockMargin,
+                           @Value("${tasks.db.shards.move-batch-size:1000}") int batchSize) {
+        this.shards = shards;
+        this.directory = shards.directory();
+        this.drain = drain;
+        this.clockMargin = clockMargin;
+        this.batchSize = batchSize;
+        this.moveTime = Timer.builder("shards.move.time")
+                .description("Time taken to move an owner between shards")
+                .register(meterRegistry);
+        this.moved = Counter.builder("shards.owners.moved")
+                .description("Owners moved between shards")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Move the owner's tasks to the target shard; returns the number of tasks moved
+     */
+    public long move(Long ownerId, int target) {
+        int source = directory.placementOf(ownerId).shard();
+        if (source == target) {
+            return 0;
+        }
+        JdbcTemplate from = new JdbcTemplate(shards.shard(source));
+        DataSource targetDataSource = shards.shard(target);
+        JdbcTemplate to = new JdbcTemplate(targetDataSource);
+
+        log.info("Moving owner {} from shard {} to shard {}", ownerId, source, target);
+        Timer.Sample sample = Timer.start();
+
+        // Rows left on the target by an earlier, failed attempt would otherwise survive as stale copies
+        deleteOwnerRows(to, ownerId);
+        // Task timestamps come from application clocks, so look back a margin past the copy start
+        Instant copyStart = Instant.now().minus(clockMargin);
+        copyTasks(from, to, ownerId, Instant.EPOCH);
+        copyTombstones(from, to, ownerId, Instant.EPOCH);
+
+        if (!directory.markMoving(ownerId, true)) {
+            throw new IllegalStateException("Owner " + ownerId + " is already being moved");
+        }
+        Long tasks;
+        try {
+            sleep(drain);
+            tasks = new TransactionTemplate(new DataSourceTransactionManager(targetDataSource)).execute(status -> {
+                copyTasks(from, to, ownerId, copyStart);
+                copyTombstones(from, to, ownerId, copyStart);
+                copyCounters(from, to, ownerId);
+                return to.queryForObject("SELECT count(*) FROM tasks WHERE owner_id = ?", Long.class, ownerId);
+            });
+            directory.assign(ownerId, target);
+        } catch (RuntimeException e) {
+            directory.markMoving(ownerId, false);
+            log.error("Moving owner {} to shard {} failed; they stay on shard {}", ownerId, target, source, e);
+            throw e;
+        }
+
+        // Other instances route by their cached placement until it expires; their reads still hit the source
+        sleep(directory.cacheTtl());
+        deleteOwnerRows(from, ownerId);
+        sample.stop(moveTime);
+        moved.increment();
+        log.info("Moved owner {} with {} tasks from shard {} to shard {}", ownerId, tasks, source, target);
+        return tasks != null ? tasks : 0;
+    }
+
+    private void copyTasks(JdbcTemplate from, JdbcTemplate to, Long ownerId, Instant changedSince) {
+        long lastId = Long.MIN_VALUE;
+        List<Object[]> rows;
+        do {
+            rows = from.query("SELECT " + TASK_COLUMNS + " FROM tasks " +
+                            "WHERE owner_id = ? AND (updated_at >= ? OR updated_at IS NULL) AND id > ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> row(rs, 10),
+                    ownerId, Timestamp.from(changedSince), lastId, batchSize);
+            if (!rows.isEmpty()) {
+                to.batchUpdate(UPSERT_TASK, rows);
+                lastId = (Long) rows.get(rows.size() - 1)[0];
+            }
+        } while (rows.size() == batchSize);
+    }
+
+    private void copyTombstones(JdbcTemplate from, JdbcTemplate to, Long ownerId, Instant deletedSince) {
+        List<Object[]> tombstones = from.query(
+                "SELECT task_id, owner_id, deleted_at FROM task_tombstones WHERE owner_id = ? AND deleted_at >= ?",
+                (rs, rowNum) -> row(rs, 3),
+                ownerId, Timestamp.from(deletedSince));
+        if (tombstones.isEmpty()) {
+            return;
+        }
+        // A task copied earlier and deleted since is dropped along with recording its tombstone
+        to.batchUpdate("DELETE FROM tasks WHERE id = ?", tombstones.stream().map(t -> new Object[]{t[0]}).toList());
+        to.batchUpdate(UPSERT_TOMBSTONE, tombstones);
+    }
+
+    private void copyCounters(JdbcTemplate from, JdbcTemplate to, Long ownerId) {
+        to.update("DELETE FROM task_counters WHERE owner_id = ?", ownerId);
+        List<Object[]> counters = from.query(
+                "SELECT owner_id, status, priority, task_count FROM task_counters WHERE owner_id = ?",
+                (rs, rowNum) -> row(rs, 4), ownerId);
+        if (!counters.isEmpty()) {
+            to.batchUpdate("INSERT INTO task_counters (owner_id, status, priority, task_count) VALUES (?, ?, ?, ?)",
+                    counters);
+        }
+
+        // One past the source's version, so collection ETags issued before the move no longer match
+        Long version = from.query("SELECT version FROM task_list_versions WHERE owner_id = ?",
+                rs -> rs.next() ? rs.getLong(1) : 0L, ownerId);
+        to.update("INSERT INTO task_list_versions (owner_id, version) VALUES (?, ?) " +
+                "ON CONFLICT (owner_id) DO UPDATE SET version = EXCLUDED.version", ownerId, version + 1);
+    }
+
+    private void deleteOwnerRows(JdbcTemplate jdbcTemplate, Long ownerId) {
+        for (String table : OWNER_TABLES) {
+            String idColumn = table.equals("tasks") ? "id" : table.equals("task_tombstones") ? "task_id" : null;
+            if (idColumn == null) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE owner_id = ?", ownerId);
+                continue;
+            }
+            // Batched so a large owner does not hold one long delete transaction
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update("DELETE FROM " + table + " WHERE " + idColumn + " IN (" +
+                        "SELECT " + idColumn + " FROM " + table + " WHERE owner_id = ? LIMIT ?)", ownerId, batchSize);
+            } while (deleted == batchSize);
+        }
+    }
+
+    private static Object[] row(ResultSet rs, int columns) throws SQLException {
+        Object[] row = new Object[columns];
+        for (int i = 0; i < columns; i++) {
+            row[i] = rs.getObject(i + 1);
+        }
+        return row;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for other instances to catch up", e);
+        }
+    }
+}
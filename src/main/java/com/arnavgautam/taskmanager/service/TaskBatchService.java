@@ -0,0 +1,284 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.dto.task.BatchItemResult;
+import com.arnavgautam.taskmanager.dto.task.BatchResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskPatchRequest;
+import com.arnavgautam.taskmanager.dto.task.TaskRequest;
+import com.arnavgautam.taskmanager.entity.Task;
+import com.arnavgautam.taskmanager.entity.User;
+import com.arnavgautam.taskmanager.enums.BatchItemStatus;
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import com.arnavgautam.taskmanager.exception.BadRequestException;
+import com.arnavgautam.taskmanager.repository.TaskCounterDelta;
+import com.arnavgautam.taskmanager.repository.TaskGroupCount;
+import com.arnavgautam.taskmanager.repository.TaskListVersionRepository;
+import com.arnavgautam.taskmanager.repository.TaskRepository;
+import com.arnavgautam.taskmanager.repository.TaskSpecifications;
+import com.arnavgautam.taskmanager.repository.TaskTombstoneRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for bulk task operations. Items are validated individually and written in
+ * JDBC batches; each request runs in a single transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TaskBatchService {
+
+    private final TaskRepository taskRepository;
+    private final TaskCounterService taskCounterService;
+    private final TaskListVersionRepository taskListVersionRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Value("${tasks.batch.max-items:5000}")
+    private int maxItems;
+
+    /**
+     * Create tasks in bulk
+     */
+    public BatchResponse createTasks(List<TaskRequest> requests, User owner) {
+        checkSize(requests);
+        log.debug("Creating {} tasks in batch for user: {}", requests.size(), owner.getUsername());
+
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        TaskCounterDelta counters = new TaskCounterDelta();
+        int pending = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequest request = requests.get(i);
+            String violation = validate(request);
+            if (violation != null) {
+                results.add(invalid(i, violation));
+                continue;
+            }
+
+            Task task = taskRepository.save(TaskService.newTask(request, owner));
+            results.add(result(i, task.getId(), BatchItemStatus.CREATED));
+            counters.add(task.getStatus(), task.getPriority(), 1);
+            eventPublisher.publishEvent(TaskChangedEvent.created(owner.getId(), TaskService.mapToResponse(task, owner)));
+
+            if (++pending == batchSize) {
+                flushAndClear();
+                pending = 0;
+            }
+        }
+        flushAndClear();
+        taskCounterService.record(owner.getId(), counters);
+        bumpListVersion(owner, results);
+
+        return summarize(results);
+    }
+
+    /**
+     * Apply partial updates to tasks in bulk
+     */
+    public BatchResponse updateTasks(List<TaskPatchRequest> patches, User owner) {
+        checkSize(patches);
+        log.debug("Updating {} tasks in batch for user: {}", patches.size(), owner.getUsername());
+
+        BatchItemResult[] results = new BatchItemResult[patches.size()];
+        TaskCounterDelta counters = new TaskCounterDelta();
+        List<Integer> chunk = new ArrayList<>(batchSize);
+        for (int i = 0; i < patches.size(); i++) {
+            TaskPatchRequest patch = patches.get(i);
+            String violation = patch != null && patch.getId() == null ? "id: Task ID is required" : validate(patch);
+            if (violation != null) {
+                results[i] = invalid(i, violation);
+                continue;
+            }
+
+            chunk.add(i);
+            if (chunk.size() == batchSize) {
+                applyPatches(patches, chunk, owner, results, counters);
+                chunk.clear();
+            }
+        }
+        applyPatches(patches, chunk, owner, results, counters);
+        taskCounterService.record(owner.getId(), counters);
+        bumpListVersion(owner, List.of(results));
+
+        return summarize(List.of(results));
+    }
+
+    /**
+     * Delete tasks in bulk
+     */
+    public BatchResponse deleteTasks(List<Long> ids, User owner) {
+        checkSize(ids);
+        log.debug("Deleting {} tasks in batch for user: {}", ids.size(), owner.getUsername());
+
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        TaskCounterDelta counters = new TaskCounterDelta();
+        Set<Long> deleted = new HashSet<>();
+        for (int start = 0; start < ids.size(); start += batchSize) {
+            int end = Math.min(start + batchSize, ids.size());
+
+            Set<Long> chunkIds = new LinkedHashSet<>();
+            for (int i = start; i < end; i++) {
+                if (ids.get(i) == null) {
+                    results[i] = invalid(i, "id: Task ID is required");
+                } else if (!deleted.contains(ids.get(i))) {
+                    chunkIds.add(ids.get(i));
+                }
+            }
+
+            if (!chunkIds.isEmpty()) {
+                List<Long> owned = taskRepository.findIdsByOwnerIdAndIdIn(owner.getId(), chunkIds);
+                if (!owned.isEmpty()) {
+                    for (TaskGroupCount group : taskRepository.countGroupsByOwnerIdAndIdIn(owner.getId(), owned)) {
+                        counters.add(group.getStatus(), group.getPriority(), -group.getCount());
+                    }
+                    taskRepository.deleteByOwnerIdAndIdIn(owner.getId(), owned);
+                    taskTombstoneRepository.insert(owner.getId(), owned, Instant.now());
+                    owned.forEach(id -> eventPublisher.publishEvent(TaskChangedEvent.deleted(owner.getId(), id)));
+                }
+                deleted.addAll(owned);
+            }
+
+            for (int i = start; i < end; i++) {
+                if (results[i] == null) {
+                    Long id = ids.get(i);
+                    BatchItemStatus status = deleted.contains(id) ? BatchItemStatus.DELETED : BatchItemStatus.NOT_FOUND;
+                    results[i] = result(i, id, status);
+                }
+            }
+        }
+        taskCounterService.record(owner.getId(), counters);
+        bumpListVersion(owner, List.of(results));
+
+        return summarize(List.of(results));
+    }
+
+    private void applyPatches(List<TaskPatchRequest> patches, List<Integer> indexes, User owner,
+                              BatchItemResult[] results, TaskCounterDelta counters) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+
+        Set<Long> ids = indexes.stream().map(i -> patches.get(i).getId()).collect(Collectors.toSet());
+        Map<Long, Task> tasks = taskRepository
+                .findAll(TaskSpecifications.ownedBy(owner).and(TaskSpecifications.idIn(ids)))
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        for (int i : indexes) {
+            TaskPatchRequest patch = patches.get(i);
+            Task task = tasks.get(patch.getId());
+            if (task == null) {
+                results[i] = result(i, patch.getId(), BatchItemStatus.NOT_FOUND);
+            } else {
+                TaskStatus oldStatus = task.getStatus();
+                Priority oldPriority = task.getPriority();
+                TaskService.applyPatch(task, patch);
+                counters.move(oldStatus, oldPriority, task.getStatus(), task.getPriority());
+                results[i] = result(i, task.getId(), BatchItemStatus.UPDATED);
+            }
+        }
+
+        // Dirty entities are flushed as one JDBC update batch, then released
+        flushAndClear();
+        for (Task task : tasks.values()) {
+            eventPublisher.publishEvent(TaskChangedEvent.updated(owner.getId(), TaskService.mapToResponse(task, owner)));
+        }
+    }
+
+    private void bumpListVersion(User owner, List<BatchItemResult> results) {
+        boolean changed = results.stream().anyMatch(r -> r.getStatus() == BatchItemStatus.CREATED
+                || r.getStatus() == BatchItemStatus.UPDATED || r.getStatus() == BatchItemStatus.DELETED);
+        if (changed) {
+            taskListVersionRepository.bump(owner.getId());
+        }
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Batch must contain at least one item");
+        }
+        if (items.size() > maxItems) {
+            throw new BadRequestException("Batch must contain at most " + maxItems + " items");
+        }
+    }
+
+    private <T> String validate(T item) {
+        return describeViolations(validator, item);
+    }
+
+    /**
+     * Bean Validation violations of an item as one message, or null if the item is valid
+     */
+    static <T> String describeViolations(Validator validator, T item) {
+        if (item == null) {
+            return "Item must not be null";
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static BatchItemResult result(int index, Long id, BatchItemStatus status) {
+        return BatchItemResult.builder()
+                .index(index)
+                .id(id)
+                .status(status)
+                .build();
+    }
+
+    private static BatchItemResult invalid(int index, String message) {
+        return BatchItemResult.builder()
+                .index(index)
+                .status(BatchItemStatus.INVALID)
+                .message(message)
+                .build();
+    }
+
+    private static BatchResponse summarize(List<BatchItemResult> results) {
+        int failed = (int) results.stream()
+                .filter(r -> r.getStatus() == BatchItemStatus.INVALID || r.getStatus() == BatchItemStatus.NOT_FOUND)
+                .count();
+        return BatchResponse.builder()
+                .total(results.size())
+                .succeeded(results.size() - failed)
+                .failed(failed)
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.dto.task.TaskResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskStreamEvent;
+import com.arnavgautam.taskmanager.enums.TaskChangeType;
+import lombok.Value;
+
+/**
+ * Application event published inside the transaction that changed a task; listeners
+ * that act on it after commit see only changes that actually happened
+ */
+@Value
+public class TaskChangedEvent {
+    Long ownerId;
+    TaskStreamEvent change;
+
+    public static TaskChangedEvent created(Long ownerId, TaskResponse task) {
+        return of(ownerId, TaskChangeType.CREATED, task.getId(), task);
+    }
+
+    public static TaskChangedEvent updated(Long ownerId, TaskResponse task) {
+        return of(ownerId, TaskChangeType.UPDATED, task.getId(), task);
+    }
+
+    public static TaskChangedEvent deleted(Long ownerId, Long taskId) {
+        return of(ownerId, TaskChangeType.DELETED, taskId, null);
+    }
+
+    private static TaskChangedEvent of(Long ownerId, TaskChangeType type, Long taskId, TaskResponse task) {
+        return new TaskChangedEvent(ownerId, TaskStreamEvent.builder()
+                .type(type)
+                .taskId(taskId)
+                .task(task)
+                .build());
+    }
+}
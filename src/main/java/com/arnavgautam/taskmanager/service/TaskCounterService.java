@@ -0,0 +1,152 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.config.ShardContext;
+import com.arnavgautam.taskmanager.dto.task.TaskSummaryResponse;
+import com.arnavgautam.taskmanager.entity.User;
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import com.arnavgautam.taskmanager.repository.TaskCounterDelta;
+import com.arnavgautam.taskmanager.repository.TaskCounterRepository;
+import com.arnavgautam.taskmanager.repository.TaskGroupCount;
+import com.arnavgautam.taskmanager.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service that maintains per-owner task counters by status and priority. Writers record
+ * their changes in the same transaction as the task write; the summary reads the counters
+ * instead of scanning tasks. A reconciler rebuilds counters from the tasks table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskCounterService {
+
+    private static final int RECONCILE_PAGE_SIZE = 500;
+
+    private final TaskCounterRepository taskCounterRepository;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Record a newly created task
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Long ownerId, TaskStatus status, Priority priority) {
+        record(ownerId, new TaskCounterDelta().add(status, priority, 1));
+    }
+
+    /**
+     * Record the accumulated changes of a bulk write
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long ownerId, TaskCounterDelta delta) {
+        if (!delta.isEmpty()) {
+            taskCounterRepository.increment(ownerId, delta);
+        }
+    }
+
+    /**
+     * Task counts for the owner by status and priority, plus overdue tasks as of today
+     */
+    @Transactional(readOnly = true)
+    public TaskSummaryResponse getSummary(User owner) {
+        log.debug("Fetching task summary for user: {}", owner.getUsername());
+
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, 0L);
+        }
+
+        long total = 0;
+        for (TaskGroupCount counter : taskCounterRepository.findByOwnerId(owner.getId())) {
+            byStatus.merge(counter.getStatus(), counter.getCount(), Long::sum);
+            byPriority.merge(counter.getPriority(), counter.getCount(), Long::sum);
+            total += counter.getCount();
+        }
+
+        // Overdue depends on the current date, so it is counted rather than maintained; the
+        // partial index on open tasks with a due date keeps this to the overdue rows only
+        long overdue = taskRepository.countOverdueByOwnerId(owner.getId(), LocalDate.now());
+
+        return TaskSummaryResponse.builder()
+                .total(total)
+                .byStatus(byStatus)
+                .byPriority(byPriority)
+                .overdue(overdue)
+                .build();
+    }
+
+    /**
+     * Rebuild the owner's counters from the tasks table; returns true if they had drifted
+     */
+    @Transactional
+    public boolean reconcile(Long ownerId) {
+        // Writers hold the owner's lock shared, so once it is held here the count below sees
+        // every committed write and the rest wait; row locks would miss first-time counter rows
+        taskCounterRepository.lockOwner(ownerId);
+        Map<String, Long> recorded = toMap(taskCounterRepository.findByOwnerId(ownerId));
+        List<TaskGroupCount> actual = taskCounterRepository.countTasksByOwnerId(ownerId);
+
+        if (recorded.equals(toMap(actual))) {
+            return false;
+        }
+
+        log.warn("Task counters for owner {} drifted; rebuilding from tasks", ownerId);
+        taskCounterRepository.replace(ownerId, actual);
+        return true;
+    }
+
+    /**
+     * Check every owner's counters against the tasks table, one owner per transaction.
+     * Runs nightly by default (tasks.counters.reconcile-cron); set the cron to "-" to disable it.
+     */
+    @Scheduled(cron = "${tasks.counters.reconcile-cron:-}")
+    public void reconcileAll() {
+        log.info("Reconciling task counters");
+
+        int checked = 0;
+        int repaired = 0;
+        Long lastId = 0L;
+        List<Long> ownerIds;
+        do {
+            ownerIds = taskCounterRepository.findOwnerIdsAfter(lastId, RECONCILE_PAGE_SIZE);
+            for (Long ownerId : ownerIds) {
+                try (ShardContext.Scope scope = ShardContext.forOwner(ownerId)) {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcile(ownerId)))) {
+                        repaired++;
+                    }
+                }
+                checked++;
+                lastId = ownerId;
+            }
+        } while (ownerIds.size() == RECONCILE_PAGE_SIZE);
+
+        log.info("Reconciled task counters for {} owners, {} repaired", checked, repaired);
+    }
+
+    private static Map<String, Long> toMap(List<TaskGroupCount> counts) {
+        Map<String, Long> map = new HashMap<>();
+        for (TaskGroupCount count : counts) {
+            if (count.getCount() != 0) {
+                map.put(count.getStatus() + ":" + count.getPriority(), count.getCount());
+            }
+        }
+        return map;
+    }
+}
@@ -0,0 +1,290 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.dto.task.ImportProgress;
+import com.arnavgautam.taskmanager.dto.task.TaskRequest;
+import com.arnavgautam.taskmanager.entity.Task;
+import com.arnavgautam.taskmanager.entity.User;
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskDataFormat;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import com.arnavgautam.taskmanager.exception.BadRequestException;
+import com.arnavgautam.taskmanager.repository.TaskCounterDelta;
+import com.arnavgautam.taskmanager.repository.TaskListVersionRepository;
+import com.arnavgautam.taskmanager.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service that imports tasks from an NDJSON or CSV stream. Rows are parsed incrementally,
+ * validated with the same rules as {@link TaskRequest}, and inserted in chunks, each chunk
+ * in its own transaction and JDBC batches. Memory use is bounded by the chunk size.
+ *
+ * <p>The report is written as NDJSON while the import runs: one "error" line per rejected
+ * row, one "progress" line per chunk and a final "summary" line.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskImportService {
+
+    private final TaskRepository taskRepository;
+    private final TaskCounterService taskCounterService;
+    private final TaskListVersionRepository taskListVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${tasks.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${tasks.import.max-row-length:65536}")
+    private int maxRowLength;
+
+    /**
+     * Import all rows from the input for the owner, writing the report to the output; returns the summary
+     */
+    public ImportProgress importTasks(User owner, TaskDataFormat format, InputStream in, OutputStream out)
+            throws IOException {
+        log.info("Starting {} task import for user: {}", format, owner.getUsername());
+
+        BoundedRecordReader reader = new BoundedRecordReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 65536), maxRowLength);
+        Map<String, Integer> columns = format == TaskDataFormat.CSV ? readCsvHeader(reader) : null;
+
+        ImportRun run = new ImportRun(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        List<Task> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkRows = new ArrayList<>(chunkSize);
+        long row = 0;
+
+        while (true) {
+            TaskRequest request;
+            try {
+                if (format == TaskDataFormat.CSV) {
+                    List<String> record = reader.readCsvRecord();
+                    if (record == null) {
+                        break;
+                    }
+                    if (record.size() == 1 && record.get(0).isBlank()) {
+                        continue;
+                    }
+                    row++;
+                    if (reader.wasTruncated()) {
+                        run.error(row, "Row exceeds " + maxRowLength + " characters");
+                        continue;
+                    }
+                    request = fromCsv(record, columns);
+                } else {
+                    String line = reader.readLine();
+                    if (line == null) {
+                        break;
+                    }
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    row++;
+                    if (reader.wasTruncated()) {
+                        run.error(row, "Row exceeds " + maxRowLength + " characters");
+                        continue;
+                    }
+                    request = objectMapper.readValue(line, TaskRequest.class);
+                }
+            } catch (JsonProcessingException e) {
+                run.error(row, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            } catch (IllegalArgumentException | DateTimeException e) {
+                run.error(row, "Malformed row: " + e.getMessage());
+                continue;
+            }
+
+            String violation = TaskBatchService.describeViolations(validator, request);
+            if (violation != null) {
+                run.error(row, violation);
+                continue;
+            }
+
+            chunk.add(TaskService.newTask(request, owner));
+            chunkRows.add(row);
+            if (chunk.size() == chunkSize) {
+                writeChunk(owner, chunk, chunkRows, run);
+            }
+        }
+        writeChunk(owner, chunk, chunkRows, run);
+
+        ImportProgress summary = run.summary();
+        log.info("Finished task import for user: {} - imported: {}, failed: {}",
+                owner.getUsername(), summary.getImported(), summary.getFailed());
+        return summary;
+    }
+
+    private void writeChunk(User owner, List<Task> chunk, List<Long> rows, ImportRun run) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        TaskCounterDelta counters = new TaskCounterDelta();
+        for (Task task : chunk) {
+            counters.add(task.getStatus(), task.getPriority(), 1);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                taskRepository.saveAll(chunk);
+                taskCounterService.record(owner.getId(), counters);
+                taskListVersionRepository.bump(owner.getId());
+                for (Task task : chunk) {
+                    eventPublisher.publishEvent(TaskChangedEvent.created(owner.getId(), TaskService.mapToResponse(task, owner)));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            run.imported(chunk.size());
+        } catch (DataAccessException | TransactionException | PersistenceException e) {
+            // The flush runs outside a repository, so Hibernate's exceptions arrive untranslated
+            log.warn("Import chunk of {} rows failed: {}", chunk.size(), e.getMessage());
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (Long row : rows) {
+                run.error(row, "Could not be stored: " + cause);
+            }
+        }
+
+        chunk.clear();
+        rows.clear();
+        run.progress();
+    }
+
+    private Map<String, Integer> readCsvHeader(BoundedRecordReader reader) throws IOException {
+        List<String> header = reader.readCsvRecord();
+        if (header == null) {
+            throw new BadRequestException("CSV input must start with a header row");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(), i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new BadRequestException("CSV header must include a title column");
+        }
+        return columns;
+    }
+
+    private TaskRequest fromCsv(List<String> record, Map<String, Integer> columns) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(column(record, columns, "title"));
+        request.setDescription(column(record, columns, "description"));
+
+        String status = column(record, columns, "status");
+        if (status != null) {
+            request.setStatus(TaskStatus.valueOf(status.trim().toUpperCase()));
+        }
+        String priority = column(record, columns, "priority");
+        if (priority != null) {
+            request.setPriority(Priority.valueOf(priority.trim().toUpperCase()));
+        }
+        String dueDate = column(record, columns, "duedate");
+        if (dueDate != null) {
+            request.setDueDate(LocalDate.parse(dueDate.trim()));
+        }
+        return request;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    /**
+     * Running counters and report writer for one import
+     */
+    private class ImportRun {
+
+        private final Writer report;
+        private final ObjectWriter jsonWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        private long processed;
+        private long imported;
+        private long failed;
+
+        ImportRun(Writer report) {
+            this.report = report;
+        }
+
+        void imported(int count) {
+            imported += count;
+            processed += count;
+        }
+
+        void error(long row, String message) throws IOException {
+            failed++;
+            processed++;
+            write(ImportProgress.builder()
+                    .type(ImportProgress.ERROR)
+                    .row(row)
+                    .message(message)
+                    .build());
+        }
+
+        void progress() throws IOException {
+            write(counters(ImportProgress.PROGRESS));
+            report.flush();
+        }
+
+        ImportProgress summary() throws IOException {
+            ImportProgress summary = counters(ImportProgress.SUMMARY);
+            write(summary);
+            report.flush();
+            return summary;
+        }
+
+        private ImportProgress counters(String type) {
+            return ImportProgress.builder()
+                    .type(type)
+                    .processed(processed)
+                    .imported(imported)
+                    .failed(failed)
+                    .build();
+        }
+
+        private void write(ImportProgress line) throws IOException {
+            jsonWriter.writeValue(report, line);
+            report.write('\n');
+        }
+    }
+}
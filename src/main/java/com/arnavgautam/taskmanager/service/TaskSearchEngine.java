@@ -0,0 +1,18 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.dto.task.TaskFilter;
+import com.arnavgautam.taskmanager.dto.task.TaskView;
+
+import java.util.List;
+
+/**
+ * Full-text search backend for tasks, selected with {@code tasks.search.engine}
+ */
+public interface TaskSearchEngine {
+
+    /**
+     * Up to limit of the owner's tasks, skipping the first offset, that match the filter and
+     * every term as a word prefix in the title or description; best match first
+     */
+    List<TaskView> search(Long ownerId, List<String> terms, TaskFilter filter, int offset, int limit);
+}
@@ -0,0 +1,90 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.dto.task.TaskFilter;
+import com.arnavgautam.taskmanager.dto.task.TaskResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskSearchResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskView;
+import com.arnavgautam.taskmanager.entity.User;
+import com.arnavgautam.taskmanager.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Service for full-text task search. Every word of the query must match a word in the
+ * title or description, as a prefix; title matches rank above description matches.
+ * The matching itself is done by the configured {@link TaskSearchEngine}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSearchService {
+
+    private static final int MAX_TERMS = 10;
+
+    private final TaskSearchEngine taskSearchEngine;
+
+    @Value("${tasks.search.max-size:100}")
+    private int maxSize;
+
+    /**
+     * A page of the owner's tasks matching the query and filter, best match first
+     */
+    public TaskSearchResponse search(User owner, String query, TaskFilter filter, int page, int size) {
+        log.debug("Searching tasks for user: {} with query: {}", owner.getUsername(), query);
+
+        if (size < 1 || size > maxSize) {
+            throw new BadRequestException("Size must be between 1 and " + maxSize);
+        }
+        if (page < 0) {
+            throw new BadRequestException("Page must not be negative");
+        }
+        List<String> terms = terms(query);
+
+        // One extra row tells whether another page follows
+        List<TaskView> matches = taskSearchEngine.search(owner.getId(), terms, filter, page * size, size + 1);
+        boolean hasNext = matches.size() > size;
+        List<TaskResponse> content = matches.stream()
+                .limit(size)
+                .map(view -> TaskService.mapToResponse(view, owner))
+                .toList();
+
+        return TaskSearchResponse.builder()
+                .content(content)
+                .page(page)
+                .size(size)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * The first words of the query, as the engines expect them
+     */
+    private static List<String> terms(String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            throw new BadRequestException("Search query must contain at least one letter or digit");
+        }
+        return terms.size() > MAX_TERMS ? terms.subList(0, MAX_TERMS) : terms;
+    }
+
+    /**
+     * The letter and digit runs of the text, lower-cased; anything else only separates words
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text != null) {
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+}
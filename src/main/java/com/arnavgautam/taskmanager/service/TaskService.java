@@ -1,21 +1,38 @@
 package com.arnavgautam.taskmanager.service;
 
+import com.arnavgautam.taskmanager.dto.task.TaskCursor;
+import com.arnavgautam.taskmanager.dto.task.TaskFilter;
+import com.arnavgautam.taskmanager.dto.task.TaskPatchRequest;
 import com.arnavgautam.taskmanager.dto.task.TaskRequest;
 import com.arnavgautam.taskmanager.dto.task.TaskResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskSliceResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskView;
 import com.arnavgautam.taskmanager.entity.Task;
 import com.arnavgautam.taskmanager.entity.User;
 import com.arnavgautam.taskmanager.enums.Priority;
 import com.arnavgautam.taskmanager.enums.TaskStatus;
+import com.arnavgautam.taskmanager.exception.BadRequestException;
+import com.arnavgautam.taskmanager.exception.PreconditionFailedException;
 import com.arnavgautam.taskmanager.exception.ResourceNotFoundException;
+import com.arnavgautam.taskmanager.repository.TaskListVersionRepository;
 import com.arnavgautam.taskmanager.repository.TaskRepository;
+import com.arnavgautam.taskmanager.repository.TaskSpecifications;
+import com.arnavgautam.taskmanager.repository.TaskWriteRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Service class for Task operations
@@ -26,7 +43,16 @@ import java.time.LocalDate;
 @Transactional
 public class TaskService {
 
+    private static final Sort SCROLL_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final TaskRepository taskRepository;
+    private final TaskCounterService taskCounterService;
+    private final TaskListVersionRepository taskListVersionRepository;
+    private final TaskWriteRepository taskWriteRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${tasks.scroll.max-size:100}")
+    private int maxScrollSize;
 
     /**
      * Create a new task
@@ -34,30 +60,59 @@ public class TaskService {
     public TaskResponse createTask(TaskRequest request, User owner) {
         log.debug("Creating new task with title: {} for user: {}", request.getTitle(), owner.getUsername());
 
-        Task task = Task.builder()
-                .title(request.getTitle())
-                .description(request.getDescription())
-                .status(request.getStatus() != null ? request.getStatus() : TaskStatus.TODO)
-                .priority(request.getPriority() != null ? request.getPriority() : Priority.MEDIUM)
-                .dueDate(request.getDueDate())
-                .owner(owner)
-                .build();
+        Task task = newTask(request, owner);
 
         Task savedTask = taskRepository.save(task);
+        taskCounterService.recordCreated(owner.getId(), savedTask.getStatus(), savedTask.getPriority());
+        taskListVersionRepository.bump(owner.getId());
         log.info("Task created successfully with ID: {}", savedTask.getId());
-        return mapToResponse(savedTask);
+        TaskResponse response = mapToResponse(savedTask, owner);
+        eventPublisher.publishEvent(TaskChangedEvent.created(owner.getId(), response));
+        return response;
     }
 
     /**
      * Get all tasks for a user with optional filters
      */
     @Transactional(readOnly = true)
-    public Page<TaskResponse> getTasks(User owner, TaskStatus status, Priority priority, LocalDate dueDate, Pageable pageable) {
-        log.debug("Fetching tasks for user: {} with filters - status: {}, priority: {}, dueDate: {}", 
-                  owner.getUsername(), status, priority, dueDate);
+    public Page<TaskResponse> getTasks(User owner, TaskFilter filter, Pageable pageable) {
+        log.debug("Fetching tasks for user: {} with filters: {}", owner.getUsername(), filter);
+
+        Specification<Task> spec = TaskSpecifications.ownedBy(owner).and(TaskSpecifications.matching(filter));
+        Page<TaskView> tasks = taskRepository.findViews(spec, pageable);
+        return tasks.map(view -> mapToResponse(view, owner));
+    }
+
+    /**
+     * Get a keyset slice of a user's tasks, newest first, continuing after the given cursor
+     */
+    @Transactional(readOnly = true)
+    public TaskSliceResponse getTaskSlice(User owner, TaskFilter filter, String cursor, int size) {
+        if (size < 1 || size > maxScrollSize) {
+            throw new BadRequestException("Size must be between 1 and " + maxScrollSize);
+        }
+        log.debug("Scrolling tasks for user: {} after cursor: {}", owner.getUsername(), cursor);
 
-        Page<Task> tasks = taskRepository.findByOwnerWithFilters(owner, status, priority, dueDate, pageable);
-        return tasks.map(this::mapToResponse);
+        Specification<Task> spec = TaskSpecifications.ownedBy(owner).and(TaskSpecifications.matching(filter));
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(TaskSpecifications.after(TaskCursor.decode(cursor)));
+        }
+
+        Slice<TaskView> tasks = taskRepository.findViewSlice(spec, SCROLL_ORDER, size);
+
+        List<TaskResponse> content = tasks.map(view -> mapToResponse(view, owner)).getContent();
+        String nextCursor = null;
+        if (tasks.hasNext() && !content.isEmpty()) {
+            TaskResponse last = content.get(content.size() - 1);
+            nextCursor = new TaskCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return TaskSliceResponse.builder()
+                .content(content)
+                .size(size)
+                .hasNext(tasks.hasNext())
+                .nextCursor(nextCursor)
+                .build();
     }
 
     /**
@@ -67,31 +122,79 @@ public class TaskService {
     public TaskResponse getTaskById(Long id, User owner) {
         log.debug("Fetching task with ID: {} for user: {}", id, owner.getUsername());
 
-        Task task = taskRepository.findByIdAndOwner(id, owner)
+        TaskView task = taskRepository.findViewByIdAndOwnerId(id, owner.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + id));
 
-        return mapToResponse(task);
+        return mapToResponse(task, owner);
+    }
+
+    /**
+     * Current version of the owner's task list; changes whenever any of the owner's tasks does
+     */
+    @Transactional(readOnly = true)
+    public long getListVersion(User owner) {
+        return taskListVersionRepository.findVersion(owner.getId());
+    }
+
+    /**
+     * Current version of a task, if the owner has it
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> getTaskVersion(Long id, User owner) {
+        return taskRepository.findVersionByIdAndOwnerId(id, owner.getId());
     }
 
     /**
-     * Update task
+     * Update task; if an expected version is given, the task must still be at that version
      */
-    public TaskResponse updateTask(Long id, TaskRequest request, User owner) {
+    public TaskResponse updateTask(Long id, TaskRequest request, User owner, Long expectedVersion) {
         log.debug("Updating task with ID: {} for user: {}", id, owner.getUsername());
 
-        Task task = taskRepository.findByIdAndOwner(id, owner)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + id));
+        TaskWriteRepository.Changes changes = new TaskWriteRepository.Changes()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .dueDate(request.getDueDate());
+        if (request.getStatus() != null) {
+            changes.status(request.getStatus());
+        }
+        if (request.getPriority() != null) {
+            changes.priority(request.getPriority());
+        }
 
-        // Update fields
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setStatus(request.getStatus() != null ? request.getStatus() : task.getStatus());
-        task.setPriority(request.getPriority() != null ? request.getPriority() : task.getPriority());
-        task.setDueDate(request.getDueDate());
+        return applyChanges(id, changes, owner, expectedVersion);
+    }
 
-        Task savedTask = taskRepository.save(task);
-        log.info("Task updated successfully with ID: {}", savedTask.getId());
-        return mapToResponse(savedTask);
+    /**
+     * Partially update task, writing only the fields present in the patch
+     */
+    public TaskResponse patchTask(Long id, TaskPatchRequest patch, User owner, Long expectedVersion) {
+        log.debug("Patching task with ID: {} for user: {}", id, owner.getUsername());
+
+        TaskWriteRepository.Changes changes = new TaskWriteRepository.Changes();
+        if (patch.getTitle() != null) {
+            changes.title(patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            changes.description(patch.getDescription());
+        }
+        if (patch.getStatus() != null) {
+            changes.status(patch.getStatus());
+        }
+        if (patch.getPriority() != null) {
+            changes.priority(patch.getPriority());
+        }
+        if (patch.getDueDate() != null) {
+            changes.dueDate(patch.getDueDate());
+        }
+
+        if (changes.isEmpty()) {
+            TaskResponse current = getTaskById(id, owner);
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw new PreconditionFailedException("Task with ID: " + id + " has been modified since version " + expectedVersion);
+            }
+            return current;
+        }
+        return applyChanges(id, changes, owner, expectedVersion);
     }
 
     /**
@@ -100,17 +203,74 @@ public class TaskService {
     public void deleteTask(Long id, User owner) {
         log.debug("Deleting task with ID: {} for user: {}", id, owner.getUsername());
 
-        Task task = taskRepository.findByIdAndOwner(id, owner)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + id));
-
-        taskRepository.delete(task);
+        // Counters, tombstone and list version are written by the same statement
+        if (!taskWriteRepository.delete(owner.getId(), id, Instant.now())) {
+            throw new ResourceNotFoundException("Task not found with ID: " + id);
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(owner.getId(), id));
         log.info("Task deleted successfully with ID: {}", id);
     }
 
+    private TaskResponse applyChanges(Long id, TaskWriteRepository.Changes changes, User owner, Long expectedVersion) {
+        // One statement updates the task and maintains counters and the list version
+        TaskView task = taskWriteRepository.update(owner.getId(), id, changes, expectedVersion, Instant.now())
+                .orElseThrow(() -> notUpdated(id, owner, expectedVersion));
+
+        log.info("Task updated successfully with ID: {}", task.getId());
+        TaskResponse response = mapToResponse(task, owner);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(owner.getId(), response));
+        return response;
+    }
+
+    /**
+     * Why an update matched no row; only probed on that failure path
+     */
+    private RuntimeException notUpdated(Long id, User owner, Long expectedVersion) {
+        if (expectedVersion != null && taskRepository.findVersionByIdAndOwnerId(id, owner.getId()).isPresent()) {
+            return new PreconditionFailedException("Task with ID: " + id + " has been modified since version " + expectedVersion);
+        }
+        return new ResourceNotFoundException("Task not found with ID: " + id);
+    }
+
+    /**
+     * Build a new, unsaved task from a request, applying status and priority defaults
+     */
+    static Task newTask(TaskRequest request, User owner) {
+        return Task.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .status(request.getStatus() != null ? request.getStatus() : TaskStatus.TODO)
+                .priority(request.getPriority() != null ? request.getPriority() : Priority.MEDIUM)
+                .dueDate(request.getDueDate())
+                .owner(owner)
+                .build();
+    }
+
     /**
-     * Map Task entity to TaskResponse DTO
+     * Apply the non-null fields of a partial update to a task
      */
-    private TaskResponse mapToResponse(Task task) {
+    static void applyPatch(Task task, TaskPatchRequest patch) {
+        if (patch.getTitle() != null) {
+            task.setTitle(patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            task.setDescription(patch.getDescription());
+        }
+        if (patch.getStatus() != null) {
+            task.setStatus(patch.getStatus());
+        }
+        if (patch.getPriority() != null) {
+            task.setPriority(patch.getPriority());
+        }
+        if (patch.getDueDate() != null) {
+            task.setDueDate(patch.getDueDate());
+        }
+    }
+
+    /**
+     * Map Task entity to TaskResponse DTO; owner info comes from the caller, not the lazy association
+     */
+    static TaskResponse mapToResponse(Task task, User owner) {
         return TaskResponse.builder()
                 .id(task.getId())
                 .title(task.getTitle())
@@ -120,11 +280,34 @@ public class TaskService {
                 .dueDate(task.getDueDate())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
-                .owner(TaskResponse.OwnerInfo.builder()
-                        .id(task.getOwner().getId())
-                        .username(task.getOwner().getUsername())
-                        .email(task.getOwner().getEmail())
-                        .build())
+                .version(task.getVersion())
+                .owner(mapToOwnerInfo(owner))
+                .build();
+    }
+
+    /**
+     * Map TaskView projection to TaskResponse DTO
+     */
+    static TaskResponse mapToResponse(TaskView task, User owner) {
+        return TaskResponse.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .dueDate(task.getDueDate())
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .version(task.getVersion())
+                .owner(mapToOwnerInfo(owner))
+                .build();
+    }
+
+    private static TaskResponse.OwnerInfo mapToOwnerInfo(User owner) {
+        return TaskResponse.OwnerInfo.builder()
+                .id(owner.getId())
+                .username(owner.getUsername())
+                .email(owner.getEmail())
                 .build();
     }
 }
@@ -0,0 +1,404 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service that fans committed task changes out to each owner's open SSE connections.
+ *
+ * <p>Connections are servlet async requests, so an idle connection holds no thread. Each
+ * connection has a bounded buffer drained by a small shared sender pool; a connection that
+ * falls behind has its buffer dropped and is sent a "resync" event, telling the client to
+ * catch up through the delta sync endpoint. A connection whose write has not finished within
+ * the send timeout, such as a client that stopped reading, is completed with an error so its
+ * socket is closed and the sender thread it blocks is released. Per owner, the last few events
+ * are kept so a reconnecting client can resume from its Last-Event-ID.
+ *
+ * <p>Events only reach connections on the node that committed the change.
+ */
+@Service
+@Slf4j
+public class TaskStreamService {
+
+    private static final Message RESYNC = new Message(0, null, "resync", "{}");
+    private static final Message HEARTBEAT = new Message(0, null, null, null);
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, OwnerChannel> channels;
+    private final ExecutorService sender;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter overflows;
+    private final Counter stalls;
+
+    // Event IDs are "<epoch>-<sequence>"; a different epoch means the IDs came from another process
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Duration timeout;
+    private final long sendTimeoutNanos;
+    private final int bufferSize;
+    private final int replaySize;
+    private final int maxConnectionsPerUser;
+
+    public TaskStreamService(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${tasks.stream.timeout:30m}") Duration timeout,
+                             @Value("${tasks.stream.heartbeat:15s}") Duration heartbeatInterval,
+                             @Value("${tasks.stream.send-timeout:10s}") Duration sendTimeout,
+                             @Value("${tasks.stream.buffer-size:256}") int bufferSize,
+                             @Value("${tasks.stream.replay-size:128}") int replaySize,
+                             @Value("${tasks.stream.replay-window:10m}") Duration replayWindow,
+                             @Value("${tasks.stream.max-connections-per-user:5}") int maxConnectionsPerUser,
+                             @Value("${tasks.stream.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+
+        // Channels outlive their connections by the replay window, so a reconnect can resume
+        this.channels = Caffeine.newBuilder()
+                .expireAfterAccess(replayWindow)
+                .<Long, OwnerChannel>removalListener((ownerId, channel, cause) -> {
+                    if (channel != null && cause == RemovalCause.EXPIRED) {
+                        channel.closeAll();
+                    }
+                })
+                .build();
+        this.sender = Executors.newFixedThreadPool(senderThreads, daemon("task-stream-sender-"));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemon("task-stream-scheduler-"));
+
+        Gauge.builder("tasks.stream.connections", connections, AtomicInteger::get)
+                .description("Open task SSE connections")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("tasks.stream.overflows")
+                .description("Connections whose buffer overflowed and were told to resync")
+                .register(meterRegistry);
+        this.stalls = Counter.builder("tasks.stream.stalls")
+                .description("Connections closed because a write did not finish within the send timeout")
+                .register(meterRegistry);
+
+        // Heartbeats keep proxies from closing idle connections and surface dead ones
+        this.scheduler.scheduleAtFixedRate(this::sendHeartbeats,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        long stallCheckMillis = Math.max(sendTimeout.toMillis() / 4, 100);
+        this.scheduler.scheduleAtFixedRate(this::closeStalled, stallCheckMillis, stallCheckMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open a stream of the owner's task changes, replaying what was missed after lastEventId if possible
+     */
+    public SseEmitter subscribe(User owner, String lastEventId) {
+        return subscribe(owner, lastEventId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(User owner, String lastEventId, SseEmitter emitter) {
+        Subscription subscription = new Subscription(emitter);
+        OwnerChannel channel = channels.get(owner.getId(), id -> new OwnerChannel());
+
+        emitter.onCompletion(() -> channel.remove(subscription));
+        emitter.onTimeout(() -> channel.remove(subscription));
+        emitter.onError(e -> channel.remove(subscription));
+
+        channel.add(subscription, lastEventId);
+        log.debug("Opened task stream for user: {}", owner.getUsername());
+        return emitter;
+    }
+
+    /**
+     * Deliver a committed change to the owner's connections
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        OwnerChannel channel = channels.getIfPresent(event.getOwnerId());
+        if (channel == null) {
+            return;
+        }
+        try {
+            // Serialized once here rather than once per connection
+            channel.publish(event.getChange().getType().name().toLowerCase(),
+                    objectMapper.writeValueAsString(event.getChange()));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize task change event for task: {}", event.getChange().getTaskId(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        channels.asMap().values().forEach(OwnerChannel::closeAll);
+        sender.shutdown();
+    }
+
+    private void sendHeartbeats() {
+        try {
+            for (Map.Entry<Long, OwnerChannel> entry : channels.asMap().entrySet()) {
+                if (entry.getValue().hasSubscribers()) {
+                    // Reading through the cache counts as access, keeping live channels from expiring
+                    channels.getIfPresent(entry.getKey());
+                    entry.getValue().heartbeat();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Task stream heartbeat failed", e);
+        }
+    }
+
+    private void closeStalled() {
+        try {
+            long now = System.nanoTime();
+            for (OwnerChannel channel : channels.asMap().values()) {
+                channel.closeStalled(now);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Task stream stall check failed", e);
+        }
+    }
+
+    private static CustomizableThreadFactory daemon(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(Message message) {
+        if (message.name() == null) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        SseEmitter.SseEventBuilder event = SseEmitter.event()
+                .name(message.name())
+                .data(message.data(), MediaType.APPLICATION_JSON);
+        return message.id() != null ? event.id(message.id()) : event;
+    }
+
+    /**
+     * An event as queued; SSE event builders are single-use, so one is built per send
+     */
+    private record Message(long sequence, String id, String name, String data) {
+    }
+
+    /**
+     * One owner's connections and recent events. All state is guarded by the channel's monitor,
+     * so an event is either replayed to a new connection or delivered live, never both.
+     */
+    private class OwnerChannel {
+
+        private final List<Subscription> subscriptions = new ArrayList<>();
+        private final Deque<Message> recent = new ArrayDeque<>();
+        private long sequence;
+
+        synchronized void add(Subscription subscription, String lastEventId) {
+            if (subscriptions.size() >= maxConnectionsPerUser) {
+                // Keep the newest connections; the evicted client will reconnect with its Last-Event-ID
+                subscriptions.remove(0).close();
+                connections.decrementAndGet();
+            }
+            subscriptions.add(subscription);
+            connections.incrementAndGet();
+
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<Message> missed = since(lastEventId);
+                if (missed == null) {
+                    subscription.enqueue(RESYNC);
+                } else {
+                    missed.forEach(subscription::enqueue);
+                }
+            }
+        }
+
+        synchronized void remove(Subscription subscription) {
+            if (subscriptions.remove(subscription)) {
+                connections.decrementAndGet();
+            }
+            subscription.closed.set(true);
+        }
+
+        synchronized boolean hasSubscribers() {
+            return !subscriptions.isEmpty();
+        }
+
+        synchronized void publish(String name, String data) {
+            long seq = ++sequence;
+            Message message = new Message(seq, epoch + "-" + seq, name, data);
+
+            recent.addLast(message);
+            if (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+
+            for (Subscription subscription : subscriptions) {
+                subscription.enqueue(message);
+            }
+        }
+
+        synchronized void heartbeat() {
+            for (Subscription subscription : subscriptions) {
+                subscription.enqueue(HEARTBEAT);
+            }
+        }
+
+        synchronized void closeStalled(long now) {
+            for (Subscription subscription : new ArrayList<>(subscriptions)) {
+                if (subscription.stalled(now)) {
+                    stalls.increment();
+                    remove(subscription);
+                    subscription.abort(new IOException("Task stream send did not finish within the send timeout"));
+                }
+            }
+        }
+
+        synchronized void closeAll() {
+            for (Subscription subscription : new ArrayList<>(subscriptions)) {
+                subscription.close();
+            }
+        }
+
+        /**
+         * Events after the given ID, or null if they are no longer all retained
+         */
+        private List<Message> since(String lastEventId) {
+            int dash = lastEventId.lastIndexOf('-');
+            if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) {
+                return null;
+            }
+            long last;
+            try {
+                last = Long.parseLong(lastEventId.substring(dash + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (last > sequence) {
+                return null;
+            }
+            long oldest = recent.isEmpty() ? sequence + 1 : recent.peekFirst().sequence();
+            if (last + 1 < oldest) {
+                return null;
+            }
+
+            List<Message> missed = new ArrayList<>();
+            for (Message message : recent) {
+                if (message.sequence() > last) {
+                    missed.add(message);
+                }
+            }
+            return missed;
+        }
+    }
+
+    /**
+     * One SSE connection with its bounded outbound buffer. At most one drain task per
+     * connection is queued on the sender pool at a time, so writes stay in order.
+     */
+    private class Subscription {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // System.nanoTime() when the send in progress started, 0 while no send is in progress
+        private volatile long sendStarted;
+
+        Subscription(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(Message message) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(message)) {
+                // Too far behind: drop what is buffered and have the client catch up via /changes
+                overflows.increment();
+                buffer.clear();
+                buffer.offer(RESYNC);
+            }
+            scheduleDrain();
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                buffer.clear();
+                emitter.complete();
+            }
+        }
+
+        boolean stalled(long now) {
+            long started = sendStarted;
+            return started != 0 && now - started > sendTimeoutNanos;
+        }
+
+        /**
+         * Close the connection with an error, which closes its socket and fails a blocked write
+         */
+        void abort(Exception cause) {
+            closed.set(true);
+            buffer.clear();
+            emitter.completeWithError(cause);
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Message message;
+                while (!closed.get() && (message = buffer.poll()) != null) {
+                    sendStarted = Math.max(System.nanoTime(), 1);
+                    emitter.send(toEvent(message));
+                    sendStarted = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter callbacks remove the subscription
+                log.debug("Task stream send failed: {}", e.getMessage());
+                abort(e);
+            } finally {
+                sendStarted = 0;
+                draining.set(false);
+            }
+            if (!closed.get() && !buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
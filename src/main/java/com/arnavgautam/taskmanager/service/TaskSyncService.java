@@ -0,0 +1,167 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.config.ShardContext;
+import com.arnavgautam.taskmanager.config.ShardRoutingDataSource;
+import com.arnavgautam.taskmanager.dto.task.SyncWatermark;
+import com.arnavgautam.taskmanager.dto.task.TaskChangesResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskView;
+import com.arnavgautam.taskmanager.entity.User;
+import com.arnavgautam.taskmanager.exception.BadRequestException;
+import com.arnavgautam.taskmanager.repository.OpenTransactionRepository;
+import com.arnavgautam.taskmanager.repository.TaskRepository;
+import com.arnavgautam.taskmanager.repository.TaskSpecifications;
+import com.arnavgautam.taskmanager.repository.TaskTombstone;
+import com.arnavgautam.taskmanager.repository.TaskTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for delta sync: the tasks an owner created, updated or deleted after a watermark.
+ *
+ * <p>Changes are read in (timestamp, id) order from the tasks table and the tombstones left
+ * by deletes, merged, and cut at a horizon. Timestamps are taken before commit, so a change
+ * may become visible well after its timestamp when it belongs to a long batch or import
+ * transaction. The horizon therefore stays behind the start of the oldest write transaction
+ * still open on the database, minus a settle window that covers clock skew and the gap
+ * between a transaction starting and its first write; the watermark never moves past a
+ * change that is still in flight, however long its transaction runs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSyncService {
+
+    private static final Sort CHANGE_ORDER = Sort.by(Sort.Order.asc("updatedAt"), Sort.Order.asc("id"));
+    private static final BatchPurger.PurgeTarget TOMBSTONE_PURGE_TARGET =
+            new BatchPurger.PurgeTarget("task-tombstones", "task_tombstones", "task_id", "deleted_at");
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final OpenTransactionRepository openTransactionRepository;
+    private final BatchPurger batchPurger;
+    private final ObjectProvider<ShardRoutingDataSource> shardRouting;
+
+    @Value("${tasks.changes.settle-window:5s}")
+    private Duration settleWindow;
+
+    @Value("${tasks.changes.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    @Value("${tasks.changes.max-limit:1000}")
+    private int maxLimit;
+
+    /**
+     * Up to limit changes after the token; without a token, every task from the beginning
+     */
+    // Read-write so it runs on the primary: a lagging replica would let the horizon pass
+    // changes it has not replayed yet, and its pg_stat_activity does not show the primary's writers
+    @Transactional
+    public TaskChangesResponse getChanges(User owner, String since, int limit) {
+        log.debug("Fetching task changes for user: {} since: {}", owner.getUsername(), since);
+
+        if (limit < 1 || limit > maxLimit) {
+            throw new BadRequestException("Limit must be between 1 and " + maxLimit);
+        }
+
+        Instant now = Instant.now();
+        SyncWatermark watermark = since == null || since.isBlank() ? SyncWatermark.start() : SyncWatermark.decode(since);
+        if (!watermark.isInitial() && watermark.getChangedAt().isBefore(now.minus(tombstoneRetention))) {
+            // Tombstones this old may already be purged, so deletes could be missed
+            return TaskChangesResponse.builder()
+                    .changed(List.of())
+                    .deleted(List.of())
+                    .reset(true)
+                    .build();
+        }
+
+        Instant horizon = horizon(now);
+        Slice<TaskView> changedSlice = taskRepository.findViewSlice(
+                TaskSpecifications.ownedBy(owner).and(TaskSpecifications.changedAfter(watermark, horizon)),
+                CHANGE_ORDER, limit);
+        List<TaskView> changed = changedSlice.getContent();
+        List<TaskTombstone> deleted = taskTombstoneRepository.findAfter(
+                owner.getId(), watermark.getChangedAt(), watermark.getId(), horizon, limit + 1);
+
+        // Merge both streams in (timestamp, id) order and keep the first limit entries
+        List<TaskResponse> changedPage = new ArrayList<>();
+        List<Long> deletedPage = new ArrayList<>();
+        int c = 0;
+        int d = 0;
+        Instant lastAt = null;
+        Long lastId = null;
+        while (changedPage.size() + deletedPage.size() < limit && (c < changed.size() || d < deleted.size())) {
+            boolean takeChanged = d >= deleted.size() || (c < changed.size()
+                    && compare(changed.get(c).getUpdatedAt(), changed.get(c).getId(),
+                    deleted.get(d).getDeletedAt(), deleted.get(d).getTaskId()) < 0);
+            if (takeChanged) {
+                TaskView task = changed.get(c++);
+                changedPage.add(TaskService.mapToResponse(task, owner));
+                lastAt = task.getUpdatedAt();
+                lastId = task.getId();
+            } else {
+                TaskTombstone tombstone = deleted.get(d++);
+                deletedPage.add(tombstone.getTaskId());
+                lastAt = tombstone.getDeletedAt();
+                lastId = tombstone.getTaskId();
+            }
+        }
+
+        boolean hasMore = c < changed.size() || d < deleted.size() || changedSlice.hasNext();
+        SyncWatermark next = hasMore
+                ? new SyncWatermark(lastAt, lastId, watermark.isInitial())
+                : new SyncWatermark(horizon, Long.MAX_VALUE, false);
+
+        return TaskChangesResponse.builder()
+                .changed(changedPage)
+                .deleted(deletedPage)
+                .hasMore(hasMore)
+                .nextToken(next.encode())
+                .build();
+    }
+
+    /**
+     * Drop tombstones past the retention window on every shard; clients with older tokens are told to reset
+     */
+    @Scheduled(cron = "${tasks.changes.tombstone-purge-cron:0 0 4 * * *}")
+    public void purgeTombstones() {
+        Instant cutoff = Instant.now().minus(tombstoneRetention);
+        List<Integer> shards = shardRouting.stream()
+                .findFirst()
+                .map(ShardRoutingDataSource::shardIds)
+                .orElse(List.of(ShardRoutingDataSource.PRIMARY_SHARD));
+        for (int shard : shards) {
+            try (ShardContext.Scope scope = ShardContext.forShard(shard)) {
+                batchPurger.purge(TOMBSTONE_PURGE_TARGET, cutoff);
+            }
+        }
+    }
+
+    /**
+     * Latest point all changes before which have committed: a settle window before now, or
+     * before the oldest open write transaction
+     */
+    private Instant horizon(Instant now) {
+        Instant settled = openTransactionRepository.findOldestWriteStart()
+                .filter(oldest -> oldest.isBefore(now))
+                .orElse(now);
+        return settled.minus(settleWindow);
+    }
+
+    private static int compare(Instant leftAt, Long leftId, Instant rightAt, Long rightId) {
+        int byTime = leftAt.compareTo(rightAt);
+        return byTime != 0 ? byTime : leftId.compareTo(rightId);
+    }
+}
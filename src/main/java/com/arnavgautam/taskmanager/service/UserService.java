@@ -1,19 +1,26 @@
 package com.arnavgautam.taskmanager.service;
 
+import com.arnavgautam.taskmanager.config.ShardContext;
+import com.arnavgautam.taskmanager.config.ShardRoutingDataSource;
 import com.arnavgautam.taskmanager.dto.auth.RegisterRequest;
 import com.arnavgautam.taskmanager.entity.User;
 import com.arnavgautam.taskmanager.exception.DuplicateResourceException;
 import com.arnavgautam.taskmanager.repository.UserRepository;
+import com.arnavgautam.taskmanager.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
 
 /**
- * Service class for User operations
+ * Service class for User operations. Users live on the primary database only, so every query
+ * runs in a scope for shard 0; otherwise a request's bearer token would route it to the
+ * caller's task shard.
  */
 @Service
 @RequiredArgsConstructor
@@ -23,13 +30,28 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * Create a new user
+     * Create a new user. The password is hashed before the transaction starts, so no
+     * connection is held while it runs.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User createUser(RegisterRequest request) {
         log.debug("Creating new user with username: {}", request.getUsername());
 
+        String password = passwordEncoder.encode(request.getPassword());
+        User savedUser;
+        try (ShardContext.Scope scope = ShardContext.forShard(ShardRoutingDataSource.PRIMARY_SHARD)) {
+            savedUser = transactionTemplate.execute(status -> insertUser(request, password));
+        }
+        principalCache.invalidate(savedUser.getUsername());
+        log.info("User created successfully with ID: {}", savedUser.getId());
+        return savedUser;
+    }
+
+    private User insertUser(RegisterRequest request, String password) {
         // Check if username already exists
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new DuplicateResourceException("Username already exists: " + request.getUsername());
@@ -44,12 +66,10 @@ public class UserService {
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(password)
                 .build();
 
-        User savedUser = userRepository.save(user);
-        log.info("User created successfully with ID: {}", savedUser.getId());
-        return savedUser;
+        return userRepository.save(user);
     }
 
     /**
@@ -57,7 +77,9 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public Optional<User> findByUsernameOrEmail(String usernameOrEmail) {
-        return userRepository.findByUsernameOrEmail(usernameOrEmail);
+        try (ShardContext.Scope scope = ShardContext.forShard(ShardRoutingDataSource.PRIMARY_SHARD)) {
+            return userRepository.findByUsernameOrEmail(usernameOrEmail);
+        }
     }
 
     /**
@@ -65,6 +87,8 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
-        return userRepository.findById(id);
+        try (ShardContext.Scope scope = ShardContext.forShard(ShardRoutingDataSource.PRIMARY_SHARD)) {
+            return userRepository.findById(id);
+        }
     }
 }
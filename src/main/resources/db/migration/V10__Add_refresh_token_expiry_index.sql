@@ -0,0 +1,2 @@
+-- The batched purge walks expired refresh tokens in expiry order
+CREATE INDEX idx_refresh_token_expiry ON refresh_tokens(expiry_date);
@@ -0,0 +1,8 @@
+-- Weighted search document over title (A) and description (B), maintained by Postgres
+ALTER TABLE tasks ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B')
+) STORED;
+
+-- Plain GIN needs no extension; the owner_id predicate is checked on the rows the index returns
+CREATE INDEX idx_task_search ON tasks USING GIN (search_vector);
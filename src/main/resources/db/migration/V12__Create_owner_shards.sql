@@ -0,0 +1,7 @@
+-- Which shard holds each owner's tasks; read only on the primary. Owners are placed on first
+-- use after sharding is enabled, so existing owners need no backfill here.
+CREATE TABLE owner_shards (
+    owner_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    shard INT NOT NULL,
+    moving BOOLEAN NOT NULL DEFAULT FALSE
+);
@@ -0,0 +1,17 @@
+-- Every task query is scoped by owner first, then filtered by status/priority/due date
+-- and sorted by creation time; index those shapes instead of single columns.
+CREATE INDEX idx_task_owner_created ON tasks(owner_id, created_at DESC, id DESC);
+CREATE INDEX idx_task_owner_status_created ON tasks(owner_id, status, created_at DESC, id DESC);
+CREATE INDEX idx_task_owner_priority_created ON tasks(owner_id, priority, created_at DESC, id DESC);
+CREATE INDEX idx_task_owner_due_date ON tasks(owner_id, due_date);
+
+-- Open tasks with a due date, serving the overdue lookup
+CREATE INDEX idx_task_owner_open_due ON tasks(owner_id, due_date)
+    WHERE status <> 'DONE' AND due_date IS NOT NULL;
+
+-- Superseded: owner_id is the leading column of the composites above, and the
+-- standalone status/priority/due_date indexes are never used for owner-scoped queries
+DROP INDEX IF EXISTS idx_task_owner;
+DROP INDEX IF EXISTS idx_task_status;
+DROP INDEX IF EXISTS idx_task_priority;
+DROP INDEX IF EXISTS idx_task_due_date;
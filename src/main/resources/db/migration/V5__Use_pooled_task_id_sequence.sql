@@ -0,0 +1,3 @@
+-- Task ids are allocated by Hibernate's pooled optimizer in blocks of 50 so inserts can be
+-- JDBC-batched (IDENTITY generation disables batching). Must match allocationSize on Task.id.
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
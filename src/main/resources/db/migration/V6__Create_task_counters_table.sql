@@ -0,0 +1,14 @@
+-- Per-owner task counts by status and priority, maintained by the application alongside
+-- every task write so the summary endpoint never scans the owner's tasks
+CREATE TABLE task_counters (
+    owner_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    status VARCHAR(20) NOT NULL,
+    priority VARCHAR(10) NOT NULL,
+    task_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (owner_id, status, priority)
+);
+
+INSERT INTO task_counters (owner_id, status, priority, task_count)
+SELECT owner_id, status, priority, count(*)
+FROM tasks
+GROUP BY owner_id, status, priority;
@@ -0,0 +1,8 @@
+-- Optimistic locking version per task; a constant default adds the column without a table rewrite
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Per-owner version bumped by every task write, backing collection ETags
+CREATE TABLE task_list_versions (
+    owner_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    version BIGINT NOT NULL DEFAULT 0
+);
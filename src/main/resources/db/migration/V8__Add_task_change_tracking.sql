@@ -0,0 +1,12 @@
+-- Delta sync reads an owner's tasks in (updated_at, id) order after a watermark
+CREATE INDEX idx_task_owner_updated ON tasks(owner_id, updated_at, id);
+
+-- Deleted task IDs, kept for a retention window so syncing clients learn about deletes
+CREATE TABLE task_tombstones (
+    task_id BIGINT PRIMARY KEY,
+    owner_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_task_tombstone_owner_deleted ON task_tombstones(owner_id, deleted_at, task_id);
+CREATE INDEX idx_task_tombstone_deleted ON task_tombstones(deleted_at);
@@ -0,0 +1,9 @@
+-- Applied to shards 1..n only. Users stay on the primary, so task tables here cannot
+-- reference them.
+ALTER TABLE tasks DROP CONSTRAINT IF EXISTS tasks_owner_id_fkey;
+ALTER TABLE task_counters DROP CONSTRAINT IF EXISTS task_counters_owner_id_fkey;
+ALTER TABLE task_list_versions DROP CONSTRAINT IF EXISTS task_list_versions_owner_id_fkey;
+ALTER TABLE task_tombstones DROP CONSTRAINT IF EXISTS task_tombstones_owner_id_fkey;
+
+-- Each shard allocates task ids from its own range (shard * 2^48), so moved tasks keep their ids
+ALTER SEQUENCE tasks_id_seq RESTART WITH ${shard_id_base};
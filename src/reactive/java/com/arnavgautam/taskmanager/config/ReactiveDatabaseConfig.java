@@ -0,0 +1,61 @@
+package com.arnavgautam.taskmanager.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * R2DBC access for the reactive task API. The pool is kept out of the context: a
+ * ConnectionFactory bean would switch off the JDBC DataSource that Flyway and the auth
+ * services still use. Every reactive task write is a single statement, so no reactive
+ * transaction manager is needed either.
+ *
+ * <p>The reactive API talks to the one database in {@code tasks.reactive.r2dbc.url}; it does
+ * not route across shards, so it refuses to start with sharding enabled.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveDatabaseConfig implements DisposableBean {
+
+    private final ConnectionPool pool;
+
+    public ReactiveDatabaseConfig(@Value("${tasks.reactive.r2dbc.url}") String url,
+                                  @Value("${tasks.reactive.r2dbc.username}") String username,
+                                  @Value("${tasks.reactive.r2dbc.password}") String password,
+                                  @Value("${tasks.reactive.r2dbc.pool.max-size:20}") int maxSize,
+                                  @Value("${tasks.reactive.r2dbc.pool.max-acquire-time:30s}") Duration maxAcquireTime,
+                                  @Value("${tasks.db.shards.enabled:false}") boolean sharded) {
+        if (sharded) {
+            throw new IllegalStateException("The reactive task API does not support tasks.db.shards.enabled");
+        }
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive-tasks")
+                .initialSize(0)
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(pool);
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+}
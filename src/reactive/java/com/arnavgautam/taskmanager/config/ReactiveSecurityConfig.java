@@ -0,0 +1,90 @@
+package com.arnavgautam.taskmanager.config;
+
+import com.arnavgautam.taskmanager.security.AuthenticatedUser;
+import com.arnavgautam.taskmanager.security.JwtPrincipalResolver;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Security for the reactive task API: bearer tokens only, verified through the same
+ * {@link JwtPrincipalResolver} as the servlet filter. Tokens are issued by the servlet
+ * deployment's /api/auth endpoints and signed with the shared jwt.secret.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveSecurityConfig {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtPrincipalResolver principalResolver;
+
+    @Bean
+    public SecurityWebFilterChain reactiveFilterChain(ServerHttpSecurity http) {
+        ReactiveAuthenticationManager authenticationManager = this::authenticate;
+        AuthenticationWebFilter bearerAuthentication = new AuthenticationWebFilter(authenticationManager);
+        bearerAuthentication.setServerAuthenticationConverter(ReactiveSecurityConfig::bearerToken);
+
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .authorizeExchange(exchanges -> exchanges
+                .pathMatchers("/actuator/health").permitAll()
+                .anyExchange().authenticated()
+            )
+            .addFilterAt(bearerAuthentication, SecurityWebFiltersOrder.AUTHENTICATION)
+            .build();
+    }
+
+    private static Mono<Authentication> bearerToken(ServerWebExchange exchange) {
+        String authorizationHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+            return Mono.empty();
+        }
+        String jwt = authorizationHeader.substring(BEARER_PREFIX.length());
+        return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(jwt, jwt));
+    }
+
+    /**
+     * Verify the token on the calling thread; only tokens that need a user lookup (no user id
+     * claim, or stateless mode disabled) move to a blocking-friendly scheduler
+     */
+    private Mono<Authentication> authenticate(Authentication token) {
+        String jwt = (String) token.getCredentials();
+        return Mono.fromCallable(() -> principalResolver.fromClaims(jwt))
+                .switchIfEmpty(Mono.fromCallable(() -> principalResolver.lookUp(jwt))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Token names no user")))
+                .onErrorMap(e -> e instanceof JwtException || e instanceof IllegalArgumentException,
+                        e -> new BadCredentialsException(e.getMessage(), e))
+                .map(ReactiveSecurityConfig::authenticated);
+    }
+
+    private static Authentication authenticated(AuthenticatedUser principal) {
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+    }
+}
@@ -0,0 +1,111 @@
+package com.arnavgautam.taskmanager.controller;
+
+import com.arnavgautam.taskmanager.dto.task.TaskFilter;
+import com.arnavgautam.taskmanager.dto.task.TaskRequest;
+import com.arnavgautam.taskmanager.dto.task.TaskResponse;
+import com.arnavgautam.taskmanager.entity.User;
+import com.arnavgautam.taskmanager.security.AuthenticatedUser;
+import com.arnavgautam.taskmanager.service.ReactiveTaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Non-blocking task endpoints, served instead of {@link TaskController} under the reactive
+ * profile. Covers create, list, get, update and delete; the list is streamed, and sent as
+ * newline-delimited JSON when the client accepts application/x-ndjson.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Tasks", description = "Task management APIs (reactive)")
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService taskService;
+
+    @Operation(summary = "Create a new task")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping
+    public Mono<TaskResponse> createTask(
+            @Valid @RequestBody TaskRequest request,
+            Authentication authentication) {
+        return taskService.createTask(request, getCurrentUser(authentication));
+    }
+
+    @Operation(summary = "Stream all tasks with optional filters", description = "Newest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks streamed"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<TaskResponse> getTasks(
+            TaskFilter filter,
+            Authentication authentication) {
+        return taskService.getTasks(getCurrentUser(authentication), filter);
+    }
+
+    @Operation(summary = "Get task by ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/{id}")
+    public Mono<TaskResponse> getTaskById(
+            @PathVariable Long id,
+            Authentication authentication) {
+        return taskService.getTaskById(id, getCurrentUser(authentication));
+    }
+
+    @Operation(summary = "Update task")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task updated successfully"),
+            @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PutMapping("/{id}")
+    public Mono<TaskResponse> updateTask(
+            @PathVariable Long id,
+            @Valid @RequestBody TaskRequest request,
+            Authentication authentication) {
+        return taskService.updateTask(id, request, getCurrentUser(authentication));
+    }
+
+    @Operation(summary = "Delete task")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @DeleteMapping("/{id}")
+    public Mono<Map<String, String>> deleteTask(
+            @PathVariable Long id,
+            Authentication authentication) {
+        return taskService.deleteTask(id, getCurrentUser(authentication))
+                .thenReturn(Map.of("message", "Task deleted successfully"));
+    }
+
+    private User getCurrentUser(Authentication authentication) {
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        return principal.toOwner();
+    }
+}
@@ -0,0 +1,250 @@
+package com.arnavgautam.taskmanager.repository;
+
+import com.arnavgautam.taskmanager.dto.task.TaskFilter;
+import com.arnavgautam.taskmanager.dto.task.TaskView;
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * R2DBC task access for the reactive task API. Writes are single statements like those of
+ * {@link TaskWriteRepository}, reusing its owner lock, counter, list version and tombstone
+ * CTEs, so a task written here keeps the same bookkeeping as one written by the servlet API.
+ * The JDBC "?" placeholders are rewritten to Postgres "$n" bind markers.
+ *
+ * <p>Timestamps are written and read in the JVM's zone, as the JDBC driver does for the
+ * timestamp columns.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveTaskRepository {
+
+    private static final String COLUMNS = "id, title, description, status, priority, due_date, created_at, updated_at, version";
+
+    private static final String INSERT = bindMarkers(
+            "WITH " + TaskWriteRepository.OWNER_LOCK + "ins AS (" +
+            "INSERT INTO tasks (title, description, status, priority, due_date, created_at, updated_at, owner_id) " +
+            "SELECT ?, ?, ?, ?, ?, ?, ?, ? FROM owner_lock RETURNING *), " +
+            "counters AS (" +
+            "INSERT INTO task_counters (owner_id, status, priority, task_count) " +
+            "SELECT owner_id, status, priority, 1 FROM ins " +
+            "ON CONFLICT (owner_id, status, priority) DO UPDATE SET task_count = task_counters.task_count + EXCLUDED.task_count), " +
+            "versions AS (" +
+            "INSERT INTO task_list_versions (owner_id, version) SELECT owner_id, 1 FROM ins " +
+            "ON CONFLICT (owner_id) DO UPDATE SET version = task_list_versions.version + 1) " +
+            "SELECT " + COLUMNS + " FROM ins");
+
+    private static final String DELETE = bindMarkers(TaskWriteRepository.DELETE);
+
+    private static final String FIND_BY_ID = bindMarkers(
+            "SELECT " + COLUMNS + " FROM tasks WHERE id = ? AND owner_id = ?");
+
+    private final DatabaseClient databaseClient;
+
+    @Value("${tasks.reactive.list-fetch-size:250}")
+    private int listFetchSize;
+
+    /**
+     * Insert a task for the owner, counting it and advancing the owner's list version
+     */
+    public Mono<TaskView> insert(Long ownerId, String title, String description, TaskStatus status, Priority priority,
+                                 LocalDate dueDate, Instant createdAt) {
+        LocalDateTime now = localTime(createdAt);
+        return execute(INSERT, List.of(
+                        Param.of(TaskCounterRepository.ownerLockKey(ownerId)),
+                        Param.of(title),
+                        Param.of(description, String.class),
+                        Param.of(status.name()),
+                        Param.of(priority.name()),
+                        Param.of(dueDate, LocalDate.class),
+                        Param.of(now),
+                        Param.of(now),
+                        Param.of(ownerId)))
+                .map((row, metadata) -> view(row))
+                .one();
+    }
+
+    /**
+     * The owner's tasks matching the filter, newest first, emitted as rows arrive
+     */
+    public Flux<TaskView> findAll(Long ownerId, TaskFilter filter) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM tasks WHERE owner_id = ?");
+        List<Param> params = new ArrayList<>();
+        params.add(Param.of(ownerId));
+        if (filter != null) {
+            if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+                appendIn(sql, params, "status", filter.getStatus().stream().map(TaskStatus::name).toList());
+            }
+            if (filter.getPriority() != null && !filter.getPriority().isEmpty()) {
+                appendIn(sql, params, "priority", filter.getPriority().stream().map(Priority::name).toList());
+            }
+            if (filter.getDueDate() != null) {
+                sql.append(" AND due_date = ?");
+                params.add(Param.of(filter.getDueDate()));
+            }
+            if (filter.getDueAfter() != null) {
+                sql.append(" AND due_date >= ?");
+                params.add(Param.of(filter.getDueAfter()));
+            }
+            if (filter.getDueBefore() != null) {
+                sql.append(" AND due_date <= ?");
+                params.add(Param.of(filter.getDueBefore()));
+            }
+            if (filter.getCreatedSince() != null) {
+                sql.append(" AND created_at >= ?");
+                params.add(Param.of(localTime(filter.getCreatedSince())));
+            }
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC");
+
+        return execute(bindMarkers(sql.toString()), params)
+                // Fetch in batches so a large list streams instead of arriving as one result set
+                .filter(statement -> statement.fetchSize(listFetchSize))
+                .map((row, metadata) -> view(row))
+                .all();
+    }
+
+    public Mono<TaskView> findById(Long ownerId, Long id) {
+        return execute(FIND_BY_ID, List.of(Param.of(id), Param.of(ownerId)))
+                .map((row, metadata) -> view(row))
+                .one();
+    }
+
+    /**
+     * Write only the given columns of the owner's task, advancing its version and updated_at;
+     * empty if the owner has no such task
+     */
+    public Mono<TaskView> update(Long ownerId, Long id, TaskWriteRepository.Changes changes, Instant updatedAt) {
+        List<Param> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("WITH " + TaskWriteRepository.OWNER_LOCK + "old AS (" +
+                "SELECT id, status, priority FROM tasks WHERE id = ? AND owner_id = ? AND EXISTS (SELECT 1 FROM owner_lock) " +
+                "FOR UPDATE), upd AS (UPDATE tasks t SET ");
+        params.add(Param.of(TaskCounterRepository.ownerLockKey(ownerId)));
+        params.add(Param.of(id));
+        params.add(Param.of(ownerId));
+        for (Map.Entry<String, Object> column : changes.columns().entrySet()) {
+            sql.append(column.getKey()).append(" = ?, ");
+            params.add(column(column.getKey(), column.getValue()));
+        }
+        sql.append("version = t.version + 1, updated_at = ? FROM old WHERE t.id = old.id " +
+                "RETURNING t.*, old.status AS old_status, old.priority AS old_priority), ");
+        params.add(Param.of(localTime(updatedAt)));
+        sql.append(TaskWriteRepository.BUMP_COUNTERS_AND_VERSION);
+        sql.append("SELECT " + COLUMNS + " FROM upd");
+
+        return execute(bindMarkers(sql.toString()), params)
+                .map((row, metadata) -> view(row))
+                .one();
+    }
+
+    /**
+     * Delete the owner's task, recording its tombstone; false if the owner has no such task
+     */
+    public Mono<Boolean> delete(Long ownerId, Long id, Instant deletedAt) {
+        return execute(DELETE, List.of(
+                        Param.of(TaskCounterRepository.ownerLockKey(ownerId)),
+                        Param.of(id),
+                        Param.of(ownerId),
+                        Param.of(localTime(deletedAt))))
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one()
+                .map(deleted -> deleted > 0);
+    }
+
+    private DatabaseClient.GenericExecuteSpec execute(String sql, List<Param> params) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (int i = 0; i < params.size(); i++) {
+            Param param = params.get(i);
+            spec = param.value() != null ? spec.bind(i, param.value()) : spec.bindNull(i, param.type());
+        }
+        return spec;
+    }
+
+    private static void appendIn(StringBuilder sql, List<Param> params, String column, List<String> values) {
+        sql.append(" AND ").append(column).append(" IN (");
+        for (int i = 0; i < values.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            params.add(Param.of(values.get(i)));
+        }
+        sql.append(")");
+    }
+
+    /**
+     * A {@link TaskWriteRepository.Changes} value as R2DBC binds it
+     */
+    private static Param column(String name, Object value) {
+        if ("due_date".equals(name)) {
+            return Param.of(value != null ? ((Date) value).toLocalDate() : null, LocalDate.class);
+        }
+        return Param.of(value, String.class);
+    }
+
+    private static TaskView view(Row row) {
+        return new TaskView(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                TaskStatus.valueOf(row.get("status", String.class)),
+                Priority.valueOf(row.get("priority", String.class)),
+                row.get("due_date", LocalDate.class),
+                instant(row.get("created_at", LocalDateTime.class)),
+                instant(row.get("updated_at", LocalDateTime.class)),
+                row.get("version", Long.class));
+    }
+
+    private static LocalDateTime localTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static Instant instant(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+
+    /**
+     * Rewrite JDBC "?" placeholders as Postgres "$1", "$2", ... bind markers
+     */
+    static String bindMarkers(String sql) {
+        StringBuilder markers = new StringBuilder(sql.length() + 16);
+        int index = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                markers.append('$').append(++index);
+            } else {
+                markers.append(c);
+            }
+        }
+        return markers.toString();
+    }
+
+    /**
+     * A bind value with the type to bind it as when it is null
+     */
+    private record Param(Object value, Class<?> type) {
+
+        static Param of(Object value) {
+            return new Param(value, value.getClass());
+        }
+
+        static Param of(Object value, Class<?> type) {
+            return new Param(value, type);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.dto.task.TaskFilter;
+import com.arnavgautam.taskmanager.dto.task.TaskRequest;
+import com.arnavgautam.taskmanager.dto.task.TaskResponse;
+import com.arnavgautam.taskmanager.entity.User;
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import com.arnavgautam.taskmanager.exception.ResourceNotFoundException;
+import com.arnavgautam.taskmanager.repository.ReactiveTaskRepository;
+import com.arnavgautam.taskmanager.repository.TaskWriteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Non-blocking task operations for the reactive task API; the counterpart of the create,
+ * list, get, update and delete operations of {@link TaskService}.
+ *
+ * <p>Writes here publish no {@link TaskChangedEvent}: those are delivered after a Spring
+ * transaction commits, and these writes run outside one. Clients of this API therefore get
+ * no SSE change events, and the in-memory search engine does not see these writes.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveTaskService {
+
+    private final ReactiveTaskRepository taskRepository;
+
+    /**
+     * Create a new task
+     */
+    public Mono<TaskResponse> createTask(TaskRequest request, User owner) {
+        log.debug("Creating new task with title: {} for user: {}", request.getTitle(), owner.getUsername());
+
+        return taskRepository.insert(owner.getId(),
+                        request.getTitle(),
+                        request.getDescription(),
+                        request.getStatus() != null ? request.getStatus() : TaskStatus.TODO,
+                        request.getPriority() != null ? request.getPriority() : Priority.MEDIUM,
+                        request.getDueDate(),
+                        Instant.now())
+                .doOnNext(task -> log.info("Task created successfully with ID: {}", task.getId()))
+                .map(task -> TaskService.mapToResponse(task, owner));
+    }
+
+    /**
+     * All of a user's tasks matching the filters, newest first, streamed as they are read
+     */
+    public Flux<TaskResponse> getTasks(User owner, TaskFilter filter) {
+        log.debug("Streaming tasks for user: {} with filters: {}", owner.getUsername(), filter);
+
+        return taskRepository.findAll(owner.getId(), filter)
+                .map(task -> TaskService.mapToResponse(task, owner));
+    }
+
+    /**
+     * Get task by ID
+     */
+    public Mono<TaskResponse> getTaskById(Long id, User owner) {
+        log.debug("Fetching task with ID: {} for user: {}", id, owner.getUsername());
+
+        return taskRepository.findById(owner.getId(), id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Task not found with ID: " + id)))
+                .map(task -> TaskService.mapToResponse(task, owner));
+    }
+
+    /**
+     * Update task
+     */
+    public Mono<TaskResponse> updateTask(Long id, TaskRequest request, User owner) {
+        log.debug("Updating task with ID: {} for user: {}", id, owner.getUsername());
+
+        TaskWriteRepository.Changes changes = new TaskWriteRepository.Changes()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .dueDate(request.getDueDate());
+        if (request.getStatus() != null) {
+            changes.status(request.getStatus());
+        }
+        if (request.getPriority() != null) {
+            changes.priority(request.getPriority());
+        }
+
+        return taskRepository.update(owner.getId(), id, changes, Instant.now())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Task not found with ID: " + id)))
+                .doOnNext(task -> log.info("Task updated successfully with ID: {}", task.getId()))
+                .map(task -> TaskService.mapToResponse(task, owner));
+    }
+
+    /**
+     * Delete task
+     */
+    public Mono<Void> deleteTask(Long id, User owner) {
+        log.debug("Deleting task with ID: {} for user: {}", id, owner.getUsername());
+
+        return taskRepository.delete(owner.getId(), id, Instant.now())
+                .flatMap(deleted -> deleted
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ResourceNotFoundException("Task not found with ID: " + id)))
+                .doOnSuccess(ignored -> log.info("Task deleted successfully with ID: {}", id));
+    }
+}
@@ -0,0 +1,195 @@
+package com.arnavgautam.taskmanager.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routing of transactions between the primary and replicas: replica health and lag, per-user
+ * replica affinity and the sticky window after a user's write.
+ */
+class ReplicaRoutingDataSourceTests {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private final Map<String, Long> lag = new LinkedHashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void readWriteTransactionsGoToThePrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Duration.ofSeconds(5), "r1", "r2");
+        routing.checkReplicas();
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAReplica() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Duration.ofSeconds(5), "r1", "r2");
+        routing.checkReplicas();
+
+        readOnly();
+        assertThat(routing.determineCurrentLookupKey()).isIn("r1", "r2");
+        signIn("alice");
+        assertThat(routing.determineCurrentLookupKey()).isIn("r1", "r2");
+    }
+
+    @Test
+    void uncheckedReplicasAreNotUsed() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Duration.ofSeconds(5), "r1");
+
+        readOnly();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void anonymousReadsRotateOverUsableReplicas() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Duration.ofSeconds(5), "r1", "r2", "r3");
+        lag.put("r2", MAX_LAG.toMillis() + 1);
+        routing.checkReplicas();
+
+        readOnly();
+        Set<Object> used = new HashSet<>();
+        for (int i = 0; i < 6; i++) {
+            used.add(routing.determineCurrentLookupKey());
+        }
+        assertThat(used).containsExactlyInAnyOrder("r1", "r3");
+    }
+
+    @Test
+    void laggingOrFailingReplicasSendReadsToThePrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Duration.ofSeconds(5), "r1", "r2");
+        lag.put("r1", MAX_LAG.toMillis() + 1);
+        lag.put("r2", null);
+        routing.checkReplicas();
+
+        readOnly();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        lag.put("r1", 0L);
+        routing.checkReplicas();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("r1");
+    }
+
+    @Test
+    void aUserStaysOnOneReplicaAndFallsBackToThePrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Duration.ofSeconds(5), "r1", "r2", "r3");
+        routing.checkReplicas();
+        readOnly();
+        signIn("alice");
+
+        Object home = routing.determineCurrentLookupKey();
+        for (int i = 0; i < 10; i++) {
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo(home);
+        }
+
+        // Another replica could be further behind than the one the user last read from
+        lag.put((String) home, MAX_LAG.toMillis() + 1);
+        routing.checkReplicas();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void readsStayOnThePrimaryAfterACommittedWrite() throws SQLException, InterruptedException {
+        ReplicaRoutingDataSource routing = routing(Duration.ofMillis(200), "r1");
+        routing.checkReplicas();
+        signIn("alice");
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        readOnly();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        signIn("bob");
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("r1");
+
+        Thread.sleep(400);
+        signIn("alice");
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("r1");
+    }
+
+    @Test
+    void rolledBackWritesDoNotPinReads() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Duration.ofSeconds(5), "r1");
+        routing.checkReplicas();
+        signIn("alice");
+
+        TransactionSynchronizationManager.initSynchronization();
+        routing.determineCurrentLookupKey();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        readOnly();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("r1");
+    }
+
+    private ReplicaRoutingDataSource routing(Duration stickyWindow, String... names) throws SQLException {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String name : names) {
+            lag.put(name, 0L);
+            replicas.put(name, replica(name));
+        }
+        return new ReplicaRoutingDataSource(mock(DataSource.class), replicas, MAX_LAG, stickyWindow, 100,
+                new SimpleMeterRegistry());
+    }
+
+    /**
+     * A replica whose health check reports the lag currently in {@link #lag}, or fails when it is null
+     */
+    private DataSource replica(String name) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet result = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            if (lag.get(name) == null) {
+                throw new SQLException("Connection refused");
+            }
+            return connection;
+        });
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(result);
+        when(result.next()).thenReturn(true);
+        when(result.getLong(1)).thenAnswer(invocation -> lag.get(name));
+        return dataSource;
+    }
+
+    private static void readOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
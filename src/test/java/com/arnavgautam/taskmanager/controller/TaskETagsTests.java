@@ -0,0 +1,68 @@
+package com.arnavgautam.taskmanager.controller;
+
+import com.arnavgautam.taskmanager.controller.TaskETags.TaskTag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Formatting of task and collection tags and parsing of If-None-Match and If-Match headers.
+ */
+class TaskETagsTests {
+
+    @Test
+    void taskTagCarriesIdVersionAndListVersion() {
+        assertThat(TaskETags.forTask(7L, 3L, 12)).isEqualTo("\"7.3.12\"");
+    }
+
+    @Test
+    void listTagDependsOnVersionAndQuery() {
+        String tag = TaskETags.forList(4, "page|0|10");
+
+        assertThat(tag).startsWith("\"L4-").endsWith("\"");
+        assertThat(TaskETags.forList(4, "page|0|10")).isEqualTo(tag);
+        assertThat(TaskETags.forList(5, "page|0|10")).isNotEqualTo(tag);
+        assertThat(TaskETags.forList(4, "page|1|10")).isNotEqualTo(tag);
+    }
+
+    @Test
+    void ifNoneMatchMatchesListedWeakOrWildcardTags() {
+        String etag = TaskETags.forTask(7L, 3L, 12);
+
+        assertThat(TaskETags.matches(null, etag)).isFalse();
+        assertThat(TaskETags.matches("\"7.3.12\"", etag)).isTrue();
+        assertThat(TaskETags.matches("\"1.1.1\", W/\"7.3.12\"", etag)).isTrue();
+        assertThat(TaskETags.matches("*", etag)).isTrue();
+        assertThat(TaskETags.matches("\"7.3.11\"", etag)).isFalse();
+    }
+
+    @Test
+    void parsesTagsForTheRequestedTaskOnly() {
+        assertThat(TaskETags.parseTaskTags("\"7.3.12\", \"8.1.12\", \"7.4.13\"", 7L, true))
+                .containsExactly(new TaskTag(3, 12), new TaskTag(4, 13));
+    }
+
+    @Test
+    void strongComparisonSkipsWeakTags() {
+        String header = "W/\"7.3.12\", \"7.4.13\"";
+
+        assertThat(TaskETags.parseTaskTags(header, 7L, true)).containsExactly(new TaskTag(4, 13));
+        assertThat(TaskETags.parseTaskTags(header, 7L, false))
+                .containsExactly(new TaskTag(3, 12), new TaskTag(4, 13));
+    }
+
+    @Test
+    void ignoresTagsThatAreNotTaskTags() {
+        String header = "\"L4-abc\", 7.3.12, \"7.3\", \"7.x.12\", \"\", \"";
+
+        assertThat(TaskETags.parseTaskTags(header, 7L, true)).isEmpty();
+        assertThat(TaskETags.parseTaskTags(null, 7L, true)).isEmpty();
+    }
+
+    @Test
+    void wildcardOnlyWhenAlone() {
+        assertThat(TaskETags.isWildcard(" * ")).isTrue();
+        assertThat(TaskETags.isWildcard("*, \"7.3.12\"")).isFalse();
+        assertThat(TaskETags.isWildcard(null)).isFalse();
+    }
+}
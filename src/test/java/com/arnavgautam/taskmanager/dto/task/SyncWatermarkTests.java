@@ -0,0 +1,66 @@
+package com.arnavgautam.taskmanager.dto.task;
+
+import com.arnavgautam.taskmanager.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Round trip and validation of delta-sync tokens.
+ */
+class SyncWatermarkTests {
+
+    @Test
+    void roundTripsWithNanosecondPrecision() {
+        SyncWatermark watermark = new SyncWatermark(Instant.parse("2024-05-01T10:15:30.123456789Z"), 42L, false);
+
+        SyncWatermark decoded = SyncWatermark.decode(watermark.encode());
+
+        assertThat(decoded.getChangedAt()).isEqualTo(watermark.getChangedAt());
+        assertThat(decoded.getId()).isEqualTo(42L);
+        assertThat(decoded.isInitial()).isFalse();
+    }
+
+    @Test
+    void keepsTheInitialFlagAndLargeIds() {
+        SyncWatermark decoded = SyncWatermark.decode(new SyncWatermark(Instant.EPOCH, Long.MAX_VALUE, true).encode());
+
+        assertThat(decoded.getId()).isEqualTo(Long.MAX_VALUE);
+        assertThat(decoded.isInitial()).isTrue();
+    }
+
+    @Test
+    void startIsInitialAtTheEpoch() {
+        SyncWatermark start = SyncWatermark.start();
+
+        assertThat(start.getChangedAt()).isEqualTo(Instant.EPOCH);
+        assertThat(start.getId()).isZero();
+        assertThat(start.isInitial()).isTrue();
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new SyncWatermark(Instant.parse("2024-05-01T10:15:30Z"), 7L, false).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        for (String token : new String[]{"not base64!", encoded("1:2:3"), encoded("1:2:3:x"), encoded("a:0:1:d"),
+                encoded("1:0:1:d:extra")}) {
+            assertThatThrownBy(() -> SyncWatermark.decode(token))
+                    .as(token)
+                    .isInstanceOf(BadRequestException.class);
+        }
+    }
+
+    private static String encoded(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,99 @@
+package com.arnavgautam.taskmanager.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the task index strategy: the hot owner-scoped query shapes must be served by a
+ * single index, never by a sequential scan or a bitmap merge of several indexes.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TaskQueryPlanTests {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (username, email, password) " +
+                    "SELECT 'user' || g, 'user' || g || '@example.com', 'secret' FROM generate_series(1, 200) g");
+            statement.execute("INSERT INTO tasks (title, status, priority, due_date, created_at, updated_at, owner_id) " +
+                    "SELECT 'Task ' || g, " +
+                    "(ARRAY['TODO','IN_PROGRESS','DONE','CANCELLED'])[1 + g % 4], " +
+                    "(ARRAY['LOW','MEDIUM','HIGH','URGENT'])[1 + (g / 4) % 4], " +
+                    "CURRENT_DATE + (g % 90 - 45), " +
+                    "now() - g * INTERVAL '1 minute', now() - g * INTERVAL '1 minute', " +
+                    "1 + g % 200 " +
+                    "FROM generate_series(1, 200000) g");
+            statement.execute("ANALYZE tasks");
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // offset page, default sort
+            "SELECT * FROM tasks WHERE owner_id = 42 ORDER BY created_at DESC LIMIT 10 OFFSET 20",
+            // status / priority filters
+            "SELECT * FROM tasks WHERE owner_id = 42 AND status = 'TODO' ORDER BY created_at DESC LIMIT 10",
+            "SELECT * FROM tasks WHERE owner_id = 42 AND priority = 'HIGH' ORDER BY created_at DESC LIMIT 10",
+            // due date filter
+            "SELECT * FROM tasks WHERE owner_id = 42 AND due_date = CURRENT_DATE ORDER BY created_at DESC LIMIT 10",
+            // multi-value and range filters
+            "SELECT * FROM tasks WHERE owner_id = 42 AND status IN ('TODO', 'IN_PROGRESS') ORDER BY created_at DESC LIMIT 10",
+            "SELECT * FROM tasks WHERE owner_id = 42 AND due_date >= CURRENT_DATE AND due_date <= CURRENT_DATE + 7 " +
+                    "ORDER BY created_at DESC LIMIT 10",
+            "SELECT * FROM tasks WHERE owner_id = 42 AND created_at >= now() - INTERVAL '1 day' ORDER BY created_at DESC LIMIT 10",
+            // keyset slice
+            "SELECT * FROM tasks WHERE owner_id = 42 AND (created_at < now() - INTERVAL '1 day' " +
+                    "OR (created_at = now() - INTERVAL '1 day' AND id < 1000)) ORDER BY created_at DESC, id DESC LIMIT 11",
+            // overdue tasks
+            "SELECT * FROM tasks WHERE owner_id = 42 AND due_date < CURRENT_DATE AND status <> 'DONE'",
+            // count by status
+            "SELECT count(*) FROM tasks WHERE owner_id = 42 AND status = 'TODO'"
+    })
+    void hotQueriesUseASingleIndex(String sql) throws SQLException {
+        String plan = explain(sql);
+
+        assertThat(plan).contains("Index");
+        assertThat(plan).doesNotContain("\"Seq Scan\"", "\"BitmapAnd\"", "\"BitmapOr\"");
+    }
+
+    private static String explain(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN (FORMAT JSON) " + sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
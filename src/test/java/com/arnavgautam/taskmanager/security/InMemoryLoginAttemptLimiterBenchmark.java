@@ -0,0 +1,66 @@
+package com.arnavgautam.taskmanager.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-check cost of the login throttle, for one hot key shared by all threads (contended
+ * compare-and-set) and for keys spread over many buckets
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class InMemoryLoginAttemptLimiterBenchmark {
+
+    private static final int KEYS = 10_000;
+    // Refills faster than it is drained, so every check takes a token
+    private static final int CAPACITY = 1_000_000;
+    private static final Duration REFILL = Duration.ofNanos(1);
+
+    private InMemoryLoginAttemptLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        limiter = new InMemoryLoginAttemptLimiter(new SimpleMeterRegistry(), KEYS * 2L, Duration.ofMinutes(15));
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "user-" + i;
+            limiter.tryAcquire(keys[i], CAPACITY, REFILL);
+        }
+        limiter.tryAcquire("exhausted", 1, Duration.ofHours(1));
+    }
+
+    @Benchmark
+    public Duration hotKey() {
+        return limiter.tryAcquire(keys[0], CAPACITY, REFILL);
+    }
+
+    @Benchmark
+    public Duration spreadKeys() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)], CAPACITY, REFILL);
+    }
+
+    @Benchmark
+    public Duration rejected() {
+        return limiter.tryAcquire("exhausted", 1, Duration.ofHours(1));
+    }
+}
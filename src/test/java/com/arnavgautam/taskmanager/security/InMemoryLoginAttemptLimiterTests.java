@@ -0,0 +1,116 @@
+package com.arnavgautam.taskmanager.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bucket timing of the in-memory GCRA limiter: burst capacity, refill, reset and exact
+ * admission under contention.
+ */
+class InMemoryLoginAttemptLimiterTests {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    private final InMemoryLoginAttemptLimiter limiter =
+            new InMemoryLoginAttemptLimiter(new SimpleMeterRegistry(), 1000, Duration.ofMinutes(15));
+
+    @Test
+    void allowsABurstOfCapacityThenReportsTheWait() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("alice", 3, HOUR)).isZero();
+        }
+
+        Duration wait = limiter.tryAcquire("alice", 3, HOUR);
+        assertThat(wait).isPositive().isLessThanOrEqualTo(HOUR).isGreaterThan(HOUR.minusMinutes(1));
+    }
+
+    @Test
+    void rejectedAttemptsDoNotPushTheWaitFurther() {
+        limiter.tryAcquire("alice", 1, HOUR);
+
+        Duration first = limiter.tryAcquire("alice", 1, HOUR);
+        Duration second = limiter.tryAcquire("alice", 1, HOUR);
+        assertThat(second).isLessThanOrEqualTo(first);
+    }
+
+    @Test
+    void regainsATokenAfterTheRefillInterval() throws InterruptedException {
+        Duration interval = Duration.ofMillis(50);
+        assertThat(limiter.tryAcquire("alice", 1, interval)).isZero();
+
+        Duration wait = limiter.tryAcquire("alice", 1, interval);
+        assertThat(wait).isPositive().isLessThanOrEqualTo(interval);
+
+        Thread.sleep(wait.toMillis() + 5);
+        assertThat(limiter.tryAcquire("alice", 1, interval)).isZero();
+    }
+
+    @Test
+    void idleBucketDoesNotSaveUpMoreThanCapacity() throws InterruptedException {
+        Duration interval = Duration.ofMillis(10);
+        Thread.sleep(100);
+
+        assertThat(limiter.tryAcquire("alice", 2, interval)).isZero();
+        assertThat(limiter.tryAcquire("alice", 2, interval)).isZero();
+        assertThat(limiter.tryAcquire("alice", 2, interval)).isPositive();
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        assertThat(limiter.tryAcquire("alice", 1, HOUR)).isZero();
+
+        assertThat(limiter.tryAcquire("bob", 1, HOUR)).isZero();
+        assertThat(limiter.tryAcquire("alice", 1, HOUR)).isPositive();
+    }
+
+    @Test
+    void resetRefillsTheBucket() {
+        limiter.tryAcquire("alice", 1, HOUR);
+
+        limiter.reset("alice");
+
+        assertThat(limiter.tryAcquire("alice", 1, HOUR)).isZero();
+    }
+
+    @Test
+    void admitsExactlyCapacityUnderContention() throws Exception {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        try {
+            List<Future<?>> attempts = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 100; i++) {
+                        if (limiter.tryAcquire("alice", 10, HOUR).isZero()) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> attempt : attempts) {
+                attempt.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(admitted).hasValue(10);
+    }
+}
@@ -0,0 +1,58 @@
+package com.arnavgautam.taskmanager.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating an access token: full signature verification and claim
+ * parsing against a lookup in {@link VerifiedTokenCache}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerifiedTokenCacheBenchmark {
+
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache cache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmark-secret-key-at-least-32-bytes-long");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 86_400_000L);
+        jwtUtil.init();
+
+        token = jwtUtil.generateToken(new AuthenticatedUser(42L, "alice", "alice@example.com", null));
+        cache = new VerifiedTokenCache(new SimpleMeterRegistry(), 50_000);
+        Claims claims = jwtUtil.parseClaims(token);
+        cache.put(token, jwtUtil.toPrincipal(claims), claims.getExpiration());
+    }
+
+    @Benchmark
+    public AuthenticatedUser coldParse() {
+        return jwtUtil.toPrincipal(jwtUtil.parseClaims(token));
+    }
+
+    @Benchmark
+    public AuthenticatedUser cachedLookup() {
+        return cache.get(token);
+    }
+}
@@ -0,0 +1,111 @@
+package com.arnavgautam.taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Record splitting, CSV quoting and the per-record length cap of the import reader.
+ */
+class BoundedRecordReaderTests {
+
+    @Test
+    void readsLinesWithoutTerminators() throws IOException {
+        BoundedRecordReader reader = reader("first\r\nsecond\nthird", 100);
+
+        assertThat(reader.readLine()).isEqualTo("first");
+        assertThat(reader.readLine()).isEqualTo("second");
+        assertThat(reader.readLine()).isEqualTo("third");
+        assertThat(reader.readLine()).isNull();
+    }
+
+    @Test
+    void truncatesLongLineAndRecoversOnNextLine() throws IOException {
+        BoundedRecordReader reader = reader("abcdefghij\nok\n", 5);
+
+        assertThat(reader.readLine()).isEqualTo("abcde");
+        assertThat(reader.wasTruncated()).isTrue();
+        assertThat(reader.readLine()).isEqualTo("ok");
+        assertThat(reader.wasTruncated()).isFalse();
+    }
+
+    @Test
+    void lineOfExactlyTheLimitIsNotTruncated() throws IOException {
+        BoundedRecordReader reader = reader("abcde\n", 5);
+
+        assertThat(reader.readLine()).isEqualTo("abcde");
+        assertThat(reader.wasTruncated()).isFalse();
+    }
+
+    @Test
+    void splitsCsvFields() throws IOException {
+        BoundedRecordReader reader = reader("title,status,priority\r\nWrite tests,TODO,HIGH\n", 100);
+
+        assertThat(reader.readCsvRecord()).containsExactly("title", "status", "priority");
+        assertThat(reader.readCsvRecord()).containsExactly("Write tests", "TODO", "HIGH");
+        assertThat(reader.readCsvRecord()).isNull();
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertThat(reader(",a,,\n", 100).readCsvRecord()).containsExactly("", "a", "", "");
+    }
+
+    @Test
+    void quotedFieldsMayHoldDelimitersQuotesAndLineBreaks() throws IOException {
+        BoundedRecordReader reader = reader("\"a, b\",\"say \"\"hi\"\"\",\"line1\nline2\"\nnext\n", 100);
+
+        assertThat(reader.readCsvRecord()).containsExactly("a, b", "say \"hi\"", "line1\nline2");
+        assertThat(reader.readCsvRecord()).containsExactly("next");
+    }
+
+    @Test
+    void quoteInsideUnquotedFieldIsLiteral() throws IOException {
+        assertThat(reader("5\" screen,x\n", 100).readCsvRecord()).containsExactly("5\" screen", "x");
+    }
+
+    @Test
+    void lastRecordWithoutTerminatorIsReturned() throws IOException {
+        BoundedRecordReader reader = reader("a,b", 100);
+
+        assertThat(reader.readCsvRecord()).containsExactly("a", "b");
+        assertThat(reader.readCsvRecord()).isNull();
+    }
+
+    @Test
+    void capCountsTheWholeRecordNotEachField() throws IOException {
+        BoundedRecordReader reader = reader("aaaa,bbbb,cccc\nok\n", 10);
+
+        reader.readCsvRecord();
+        assertThat(reader.wasTruncated()).isTrue();
+        assertThat(reader.readCsvRecord()).containsExactly("ok");
+        assertThat(reader.wasTruncated()).isFalse();
+    }
+
+    @Test
+    void manyEmptyFieldsAreCapped() throws IOException {
+        BoundedRecordReader reader = reader(",".repeat(1_000_000) + "\nok\n", 100);
+
+        List<String> record = reader.readCsvRecord();
+        assertThat(reader.wasTruncated()).isTrue();
+        assertThat(record).hasSizeLessThanOrEqualTo(101);
+        assertThat(reader.readCsvRecord()).containsExactly("ok");
+    }
+
+    @Test
+    void oversizedQuotedFieldIsConsumedToItsClosingQuote() throws IOException {
+        BoundedRecordReader reader = reader("\"" + "x\n".repeat(50) + "\",tail\nok\n", 10);
+
+        reader.readCsvRecord();
+        assertThat(reader.wasTruncated()).isTrue();
+        assertThat(reader.readCsvRecord()).containsExactly("ok");
+    }
+
+    private static BoundedRecordReader reader(String input, int maxRecordLength) {
+        return new BoundedRecordReader(new StringReader(input), maxRecordLength);
+    }
+}
@@ -0,0 +1,93 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.dto.task.TaskView;
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building one owner's in-memory search index and of querying it with a common word,
+ * a rare word, and both together, where the rare word should bound the work
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OwnerSearchIndexBenchmark {
+
+    private static final String[] VOCABULARY = {"review", "update", "fix", "deploy", "write", "call", "plan",
+            "budget", "report", "meeting", "design", "test", "release", "customer", "invoice", "schedule"};
+
+    @Param({"1000", "10000"})
+    public int tasks;
+
+    private TaskView[] views;
+    private OwnerSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Instant now = Instant.now();
+        views = new TaskView[tasks];
+        for (int i = 0; i < tasks; i++) {
+            // Every task mentions "task"; one in a hundred mentions "urgent"
+            String title = VOCABULARY[random.nextInt(VOCABULARY.length)] + " task " + i
+                    + (i % 100 == 0 ? " urgent" : "");
+            String description = VOCABULARY[random.nextInt(VOCABULARY.length)] + " "
+                    + VOCABULARY[random.nextInt(VOCABULARY.length)] + " task notes";
+            views[i] = new TaskView((long) i + 1, title, description, TaskStatus.TODO, Priority.MEDIUM, null,
+                    now.minusSeconds(i), now, 0L);
+        }
+        index = build();
+    }
+
+    @Benchmark
+    public int buildIndex() {
+        return build().size();
+    }
+
+    @Benchmark
+    public List<TaskView> commonTerm() {
+        return index.search(List.of("task"), null, 0, 20);
+    }
+
+    @Benchmark
+    public List<TaskView> rareTerm() {
+        return index.search(List.of("urgent"), null, 0, 20);
+    }
+
+    @Benchmark
+    public List<TaskView> commonAndRareTerms() {
+        return index.search(List.of("task", "urgent"), null, 0, 20);
+    }
+
+    @Benchmark
+    public List<TaskView> broadPrefix() {
+        return index.search(List.of("re"), null, 0, 20);
+    }
+
+    private OwnerSearchIndex build() {
+        OwnerSearchIndex built = new OwnerSearchIndex();
+        for (TaskView view : views) {
+            built.put(view);
+        }
+        return built;
+    }
+}
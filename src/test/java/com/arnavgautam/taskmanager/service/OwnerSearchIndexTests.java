@@ -0,0 +1,215 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.dto.task.TaskFilter;
+import com.arnavgautam.taskmanager.dto.task.TaskView;
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Matching, ranking, filtering and maintenance of the per-owner in-memory search index.
+ */
+class OwnerSearchIndexTests {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final OwnerSearchIndex index = new OwnerSearchIndex();
+
+    @Test
+    void everyTermMustMatchAsAPrefix() {
+        index.put(task(1, "Write quarterly report", "for the board"));
+        index.put(task(2, "Write tests", null));
+        index.put(task(3, "Quarterly planning", "report draft"));
+
+        assertThat(ids(search("writ", "quart"))).containsExactly(1L);
+        assertThat(ids(search("report"))).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(search("write", "missing"))).isEmpty();
+        assertThat(ids(search("nothing"))).isEmpty();
+    }
+
+    @Test
+    void titleMatchesRankAboveDescriptionMatches() {
+        index.put(task(1, "Groceries", "buy milk"));
+        index.put(task(2, "Milk run", null));
+        index.put(task(3, "Milk and bread", "milk twice"));
+
+        // Title weighs more than description; a word in both fields counts once, as title
+        assertThat(ids(search("milk"))).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void scoresAddUpAcrossTerms() {
+        index.put(task(1, "alpha", "beta"));
+        index.put(task(2, "alpha beta", null));
+        index.put(task(3, "gamma", "alpha beta"));
+
+        assertThat(ids(search("alpha", "beta"))).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void tiesGoToTheNewestTask() {
+        index.put(task(1, "review", null, T0));
+        index.put(task(2, "review", null, T0.plusSeconds(60)));
+        index.put(task(3, "review", null, T0.plusSeconds(60)));
+
+        assertThat(ids(search("review"))).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void appliesTheFilterToMatches() {
+        index.put(new TaskView(1L, "deploy", null, TaskStatus.DONE, Priority.MEDIUM, null, T0, T0, 0L));
+        index.put(new TaskView(2L, "deploy", null, TaskStatus.TODO, Priority.MEDIUM, null, T0, T0, 0L));
+        index.put(new TaskView(3L, "deploy", null, TaskStatus.TODO, Priority.MEDIUM, LocalDate.of(2024, 3, 1), T0, T0, 0L));
+
+        TaskFilter todo = new TaskFilter();
+        todo.setStatus(List.of(TaskStatus.TODO));
+        assertThat(ids(index.search(List.of("deploy"), todo, 0, 10))).containsExactlyInAnyOrder(2L, 3L);
+
+        TaskFilter dueInMarch = new TaskFilter();
+        dueInMarch.setDueAfter(LocalDate.of(2024, 3, 1));
+        dueInMarch.setDueBefore(LocalDate.of(2024, 3, 31));
+        assertThat(ids(index.search(List.of("deploy"), dueInMarch, 0, 10))).containsExactly(3L);
+    }
+
+    @Test
+    void pagesWithOffsetAndLimit() {
+        for (long id = 1; id <= 5; id++) {
+            index.put(task(id, "item", null, T0.plusSeconds(id)));
+        }
+
+        assertThat(ids(index.search(List.of("item"), null, 1, 2))).containsExactly(4L, 3L);
+        assertThat(ids(index.search(List.of("item"), null, 4, 2))).containsExactly(1L);
+    }
+
+    @Test
+    void updatesReplaceTheOldTextAndStaleVersionsAreIgnored() {
+        index.put(new TaskView(1L, "draft", null, TaskStatus.TODO, Priority.MEDIUM, null, T0, T0, 1L));
+        index.put(new TaskView(1L, "final", null, TaskStatus.TODO, Priority.MEDIUM, null, T0, T0, 2L));
+        index.put(new TaskView(1L, "draft", null, TaskStatus.TODO, Priority.MEDIUM, null, T0, T0, 1L));
+
+        assertThat(ids(search("draft"))).isEmpty();
+        assertThat(ids(search("final"))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removedTasksNoLongerMatch() {
+        index.put(task(1, "cleanup", null));
+        index.put(task(2, "cleanup", null));
+
+        index.remove(1L);
+
+        assertThat(ids(search("cleanup"))).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void compactionKeepsResultsAndReleasesMemory() {
+        for (long id = 1; id <= 200; id++) {
+            index.put(task(id, "task " + id, "common"));
+        }
+        long full = index.estimatedBytes();
+        for (long id = 1; id <= 180; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(20);
+        assertThat(index.estimatedBytes()).isLessThan(full);
+        assertThat(search("common")).hasSize(20);
+        assertThat(ids(search("task", "19"))).containsExactlyInAnyOrder(190L, 191L, 192L, 193L, 194L, 195L,
+                196L, 197L, 198L, 199L);
+    }
+
+    @Test
+    void agreesWithAFullScanOnRandomData() {
+        String[] words = {"alpha", "alpine", "beta", "bet", "gamma", "gamut", "delta", "del", "epsilon", "zeta"};
+        Random random = new Random(42);
+        Map<Long, TaskView> live = new HashMap<>();
+        for (int round = 0; round < 2000; round++) {
+            long id = 1 + random.nextInt(300);
+            if (random.nextInt(5) == 0) {
+                index.remove(id);
+                live.remove(id);
+            } else {
+                TaskView task = task(id, sentence(random, words), random.nextBoolean() ? sentence(random, words) : null,
+                        T0.plusSeconds(random.nextInt(100)));
+                index.put(task);
+                live.put(id, task);
+            }
+        }
+
+        String[] prefixes = {"al", "alp", "bet", "beta", "g", "gam", "del", "e", "z", "zz"};
+        for (int query = 0; query < 200; query++) {
+            List<String> terms = new ArrayList<>();
+            for (int t = 1 + random.nextInt(3); t > 0; t--) {
+                terms.add(prefixes[random.nextInt(prefixes.length)]);
+            }
+            assertThat(ids(index.search(terms, null, 0, 1000)))
+                    .as("%s", terms)
+                    .containsExactlyElementsOf(fullScan(live.values(), terms));
+        }
+    }
+
+    private List<TaskView> search(String... terms) {
+        return index.search(List.of(terms), null, 0, 100);
+    }
+
+    private static List<Long> ids(List<TaskView> tasks) {
+        return tasks.stream().map(TaskView::getId).toList();
+    }
+
+    private static List<Long> fullScan(Iterable<TaskView> tasks, List<String> terms) {
+        List<TaskView> hits = new ArrayList<>();
+        Map<Long, Integer> scores = new HashMap<>();
+        for (TaskView task : tasks) {
+            int score = 0;
+            for (String term : terms) {
+                int weight = hasPrefix(task.getTitle(), term) ? 2 : hasPrefix(task.getDescription(), term) ? 1 : 0;
+                if (weight == 0) {
+                    score = -1;
+                    break;
+                }
+                score += weight;
+            }
+            if (score > 0) {
+                hits.add(task);
+                scores.put(task.getId(), score);
+            }
+        }
+        hits.sort(Comparator.<TaskView>comparingInt(task -> scores.get(task.getId())).reversed()
+                .thenComparing(TaskView::getCreatedAt, Comparator.reverseOrder())
+                .thenComparing(TaskView::getId, Comparator.reverseOrder()));
+        return ids(hits);
+    }
+
+    private static boolean hasPrefix(String text, String prefix) {
+        return TaskSearchService.tokenize(text).stream().anyMatch(word -> word.startsWith(prefix));
+    }
+
+    private static String sentence(Random random, String[] words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 1 + random.nextInt(4); i > 0; i--) {
+            sentence.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        return sentence.toString();
+    }
+
+    private static TaskView task(long id, String title, String description) {
+        return task(id, title, description, T0);
+    }
+
+    private static TaskView task(long id, String title, String description, Instant createdAt) {
+        return new TaskView(id, title, description, TaskStatus.TODO, Priority.MEDIUM, null, createdAt, createdAt, 0L);
+    }
+}
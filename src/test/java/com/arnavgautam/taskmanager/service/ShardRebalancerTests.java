@@ -0,0 +1,257 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.config.ShardDirectory;
+import com.arnavgautam.taskmanager.config.ShardRoutingDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Moving an owner between two real databases: the bulk copy, writes landing during the drain,
+ * the delta copy, repointing the directory and deleting the source rows once no instance can
+ * still be reading them. Also covers placing owners in the directory: existing owners, and a
+ * new owner from several instances at once.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ShardRebalancerTests {
+
+    @Container
+    static PostgreSQLContainer<?> primaryDb = new PostgreSQLContainer<>("postgres:15");
+
+    @Container
+    static PostgreSQLContainer<?> shardDb = new PostgreSQLContainer<>("postgres:15");
+
+    private static final Duration DRAIN = Duration.ofSeconds(2);
+    private static final Duration DIRECTORY_TTL = Duration.ofSeconds(3);
+
+    private static DataSource primary;
+    private static DataSource shard;
+
+    private JdbcTemplate source;
+    private JdbcTemplate target;
+    private ShardRoutingDataSource shards;
+    private Long ownerId;
+
+    @BeforeAll
+    static void migrate() {
+        primary = dataSource(primaryDb);
+        shard = dataSource(shardDb);
+        Flyway.configure()
+                .dataSource(primary)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        Flyway.configure()
+                .dataSource(shard)
+                .locations("classpath:db/migration", "classpath:db/shard")
+                .placeholders(Map.of("shard_id_base", Long.toString(1L << 48)))
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        source = new JdbcTemplate(primary);
+        target = new JdbcTemplate(shard);
+        shards = shards();
+
+        ownerId = newUser();
+        source.update("INSERT INTO task_list_versions (owner_id, version) VALUES (?, 7)", ownerId);
+    }
+
+    @Test
+    void movesTasksIncludingWritesMadeDuringTheDrain() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(insertTask("Task " + i, "TODO"));
+        }
+        source.update("INSERT INTO task_tombstones (task_id, owner_id, deleted_at) VALUES (?, ?, ?)",
+                -1L, ownerId, Timestamp.from(Instant.now()));
+        source.update("INSERT INTO task_counters (owner_id, status, priority, task_count) VALUES (?, 'TODO', 'MEDIUM', 5)",
+                ownerId);
+        assertThat(shards.directory().placementOf(ownerId).shard()).isEqualTo(ShardRoutingDataSource.PRIMARY_SHARD);
+
+        ShardRebalancer rebalancer = new ShardRebalancer(shards, new SimpleMeterRegistry(), DRAIN, Duration.ofSeconds(1), 2);
+        CompletableFuture<Long> move = CompletableFuture.supplyAsync(() -> rebalancer.move(ownerId, 1));
+
+        // Writes that were in flight when the owner was flagged land on the source during the drain
+        awaitMoving();
+        source.update("UPDATE tasks SET title = 'Renamed', version = version + 1, updated_at = ? WHERE id = ?",
+                Timestamp.from(Instant.now()), ids.get(0));
+        Long added = insertTask("Added during drain", "DONE");
+        source.update("DELETE FROM tasks WHERE id = ?", ids.get(1));
+        source.update("INSERT INTO task_tombstones (task_id, owner_id, deleted_at) VALUES (?, ?, ?)",
+                ids.get(1), ownerId, Timestamp.from(Instant.now()));
+
+        assertThat(move.get(30, TimeUnit.SECONDS)).isEqualTo(5L);
+
+        assertThat(target.queryForList("SELECT id FROM tasks WHERE owner_id = ? ORDER BY id", Long.class, ownerId))
+                .containsExactly(ids.get(0), ids.get(2), ids.get(3), ids.get(4), added);
+        assertThat(target.queryForObject("SELECT title FROM tasks WHERE id = ?", String.class, ids.get(0)))
+                .isEqualTo("Renamed");
+        assertThat(target.queryForList("SELECT task_id FROM task_tombstones WHERE owner_id = ?", Long.class, ownerId))
+                .containsExactlyInAnyOrder(-1L, ids.get(1));
+        assertThat(target.queryForObject("SELECT task_count FROM task_counters WHERE owner_id = ?", Long.class, ownerId))
+                .isEqualTo(5L);
+        // One past the source's version, so list ETags from before the move no longer match
+        assertThat(target.queryForObject("SELECT version FROM task_list_versions WHERE owner_id = ?", Long.class, ownerId))
+                .isEqualTo(8L);
+
+        // Repointed on the primary, and seen by a directory that has not cached the owner
+        assertThat(source.queryForMap("SELECT shard, moving FROM owner_shards WHERE owner_id = ?", ownerId))
+                .containsEntry("shard", 1).containsEntry("moving", false);
+        assertThat(shards().directory().placementOf(ownerId)).isEqualTo(new ShardDirectory.Placement(1, false));
+
+        for (String table : List.of("tasks", "task_counters", "task_list_versions", "task_tombstones")) {
+            assertThat(source.queryForObject("SELECT count(*) FROM " + table + " WHERE owner_id = ?", Long.class, ownerId))
+                    .as(table)
+                    .isZero();
+        }
+    }
+
+    @Test
+    void sourceRowsOutliveOtherInstancesCachedPlacements() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            insertTask("Task " + i, "TODO");
+        }
+        shards.directory().placementOf(ownerId);
+        ShardDirectory otherInstance = shards().directory();
+
+        ShardRebalancer rebalancer = new ShardRebalancer(shards, new SimpleMeterRegistry(), Duration.ofSeconds(1),
+                Duration.ofSeconds(1), 2);
+        CompletableFuture<Long> move = CompletableFuture.supplyAsync(() -> rebalancer.move(ownerId, 1));
+        awaitMoving();
+        assertThat(otherInstance.placementOf(ownerId)).isEqualTo(new ShardDirectory.Placement(0, true));
+
+        // Repointed, but the other instance still routes reads to the source, which must still hold the tasks
+        awaitShard(1);
+        assertThat(otherInstance.placementOf(ownerId)).isEqualTo(new ShardDirectory.Placement(0, true));
+        assertThat(source.queryForObject("SELECT count(*) FROM tasks WHERE owner_id = ?", Long.class, ownerId))
+                .isEqualTo(3L);
+
+        assertThat(move.get(30, TimeUnit.SECONDS)).isEqualTo(3L);
+        assertThat(otherInstance.placementOf(ownerId)).isEqualTo(new ShardDirectory.Placement(1, false));
+        assertThat(source.queryForObject("SELECT count(*) FROM tasks WHERE owner_id = ?", Long.class, ownerId))
+                .isZero();
+    }
+
+    @Test
+    void ownerAlreadyBeingMovedStaysOnTheSource() {
+        insertTask("Stays", "TODO");
+        shards.directory().placementOf(ownerId);
+        shards.directory().markMoving(ownerId, true);
+
+        ShardRebalancer rebalancer = new ShardRebalancer(shards, new SimpleMeterRegistry(), DRAIN, Duration.ofSeconds(1), 2);
+
+        assertThatThrownBy(() -> rebalancer.move(ownerId, 1)).isInstanceOf(IllegalStateException.class);
+        assertThat(source.queryForObject("SELECT shard FROM owner_shards WHERE owner_id = ?", Integer.class, ownerId))
+                .isZero();
+        assertThat(source.queryForObject("SELECT count(*) FROM tasks WHERE owner_id = ?", Long.class, ownerId))
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void concurrentFirstUsesAgreeOnAPlacement() throws Exception {
+        int instances = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(instances);
+        try {
+            for (int round = 0; round < 20; round++) {
+                Long newOwner = newUser();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<ShardDirectory.Placement>> placements = new ArrayList<>();
+                for (int i = 0; i < instances; i++) {
+                    // One directory per thread, like separate instances with cold caches
+                    ShardDirectory directory = shards().directory();
+                    placements.add(executor.submit(() -> {
+                        start.await();
+                        return directory.placementOf(newOwner);
+                    }));
+                }
+                start.countDown();
+
+                ShardDirectory.Placement expected = new ShardDirectory.Placement((int) (newOwner % 2), false);
+                for (Future<ShardDirectory.Placement> placement : placements) {
+                    assertThat(placement.get(10, TimeUnit.SECONDS)).isEqualTo(expected);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void ownersWithTasksFromBeforeShardingStayOnThePrimary() {
+        // An odd id, which would otherwise be placed on shard 1
+        ownerId = newUser();
+        if (ownerId % 2 == 0) {
+            ownerId = newUser();
+        }
+        // Tasks created before V7 and not written since: there is no task_list_versions row
+        insertTask("Old", "TODO");
+
+        assertThat(shards.directory().placementOf(ownerId))
+                .isEqualTo(new ShardDirectory.Placement(ShardRoutingDataSource.PRIMARY_SHARD, false));
+    }
+
+    private Long newUser() {
+        String name = "user" + System.nanoTime();
+        return source.queryForObject("INSERT INTO users (username, email, password) VALUES (?, ?, 'secret') RETURNING id",
+                Long.class, name, name + "@example.com");
+    }
+
+    private Long insertTask(String title, String status) {
+        Timestamp now = Timestamp.from(Instant.now());
+        return source.queryForObject("INSERT INTO tasks (title, status, priority, created_at, updated_at, owner_id) " +
+                "VALUES (?, ?, 'MEDIUM', ?, ?, ?) RETURNING id", Long.class, title, status, now, now, ownerId);
+    }
+
+    private void awaitMoving() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!Boolean.TRUE.equals(source.queryForObject(
+                "SELECT moving FROM owner_shards WHERE owner_id = ?", Boolean.class, ownerId))) {
+            assertThat(System.nanoTime()).as("owner flagged as moving").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private void awaitShard(int shard) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (source.queryForObject("SELECT shard FROM owner_shards WHERE owner_id = ?", Integer.class, ownerId) != shard) {
+            assertThat(System.nanoTime()).as("owner assigned to shard %d", shard).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static ShardRoutingDataSource shards() {
+        ShardDirectory directory = new ShardDirectory(new JdbcTemplate(primary), 2, DIRECTORY_TTL, 1000);
+        return new ShardRoutingDataSource(Map.of(ShardRoutingDataSource.PRIMARY_SHARD, primary, 1, shard), directory);
+    }
+
+    private static DataSource dataSource(PostgreSQLContainer<?> container) {
+        return new DriverManagerDataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+}
@@ -0,0 +1,259 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replay from Last-Event-ID, buffer overflow, the per-user connection cap, stall aborts and
+ * delivery order of the SSE change stream.
+ */
+class TaskStreamServiceTests {
+
+    private final User owner = User.builder().id(1L).username("alice").email("alice@example.com").build();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskStreamService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void deliversEventsInPublishOrder() {
+        service = service(256, 128, 5, Duration.ofSeconds(10));
+        RecordingEmitter emitter = subscribe(null);
+
+        for (long id = 1; id <= 100; id++) {
+            publish(id);
+        }
+
+        await(() -> emitter.events().size() == 100);
+        List<Long> sequences = emitter.events().stream()
+                .map(event -> Long.parseLong(event.id().substring(event.id().lastIndexOf('-') + 1)))
+                .toList();
+        assertThat(sequences).isSorted().doesNotHaveDuplicates();
+        assertThat(emitter.events()).extracting(Event::name).containsOnly("deleted");
+    }
+
+    @Test
+    void replaysEventsAfterTheLastEventId() {
+        service = service(256, 3, 5, Duration.ofSeconds(10));
+        RecordingEmitter first = subscribe(null);
+        for (long id = 1; id <= 5; id++) {
+            publish(id);
+        }
+        await(() -> first.events().size() == 5);
+        List<String> ids = first.events().stream().map(Event::id).toList();
+
+        RecordingEmitter resumed = subscribe(ids.get(1));
+
+        await(() -> resumed.events().size() == 3);
+        assertThat(resumed.events()).extracting(Event::id).containsExactlyElementsOf(ids.subList(2, 5));
+    }
+
+    @Test
+    void upToDateLastEventIdReplaysNothing() {
+        service = service(256, 3, 5, Duration.ofSeconds(10));
+        RecordingEmitter first = subscribe(null);
+        publish(1);
+        await(() -> first.events().size() == 1);
+
+        RecordingEmitter resumed = subscribe(first.events().get(0).id());
+        publish(2);
+
+        await(() -> resumed.events().size() == 1 && first.events().size() == 2);
+        assertThat(resumed.events().get(0).id()).isEqualTo(first.events().get(1).id());
+    }
+
+    @Test
+    void asksForResyncWhenMissedEventsCannotBeReplayed() {
+        service = service(256, 3, 5, Duration.ofSeconds(10));
+        RecordingEmitter first = subscribe(null);
+        for (long id = 1; id <= 5; id++) {
+            publish(id);
+        }
+        await(() -> first.events().size() == 5);
+        String oldest = first.events().get(0).id();
+        String epoch = oldest.substring(0, oldest.lastIndexOf('-'));
+
+        // Event 2 fell out of the three-event ring, so resuming after event 1 leaves a gap
+        assertResync(oldest);
+        // From another process
+        assertResync("zzz-4");
+        // Ahead of this process, e.g. from before a restart that reused the epoch
+        assertResync(epoch + "-9");
+        assertResync("garbage");
+        assertResync(epoch + "-x");
+    }
+
+    @Test
+    void overflowReplacesTheBufferWithOneResync() throws InterruptedException {
+        service = service(2, 128, 5, Duration.ofSeconds(10));
+        RecordingEmitter emitter = subscribe(null);
+        emitter.block();
+
+        publish(1);
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        // Event 1 is being written; 2 and 3 fill the buffer and 4 overflows it
+        for (long id = 2; id <= 4; id++) {
+            publish(id);
+        }
+        emitter.unblock();
+
+        await(() -> emitter.events().size() == 2);
+        assertThat(emitter.events()).extracting(Event::name).containsExactly("deleted", "resync");
+        assertThat(meterRegistry.counter("tasks.stream.overflows").count()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsTheOldestConnectionAtTheCap() {
+        service = service(256, 128, 2, Duration.ofSeconds(10));
+        RecordingEmitter oldest = subscribe(null);
+        RecordingEmitter middle = subscribe(null);
+        RecordingEmitter newest = subscribe(null);
+
+        publish(1);
+
+        await(() -> middle.events().size() == 1 && newest.events().size() == 1);
+        assertThat(oldest.completed).isTrue();
+        assertThat(oldest.events()).isEmpty();
+        assertThat(meterRegistry.get("tasks.stream.connections").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void abortsAConnectionWhoseWriteStalls() throws InterruptedException {
+        service = service(256, 128, 5, Duration.ofMillis(200));
+        RecordingEmitter emitter = subscribe(null);
+        emitter.block();
+
+        publish(1);
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        await(() -> emitter.error != null);
+        assertThat(meterRegistry.counter("tasks.stream.stalls").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("tasks.stream.connections").gauge().value()).isZero();
+        emitter.unblock();
+    }
+
+    private void assertResync(String lastEventId) {
+        RecordingEmitter emitter = subscribe(lastEventId);
+        await(() -> !emitter.events().isEmpty());
+        assertThat(emitter.events()).as(lastEventId).extracting(Event::name).containsExactly("resync");
+    }
+
+    private TaskStreamService service(int bufferSize, int replaySize, int maxConnections, Duration sendTimeout) {
+        return new TaskStreamService(new ObjectMapper(), meterRegistry, Duration.ofMinutes(30), Duration.ofHours(1),
+                sendTimeout, bufferSize, replaySize, Duration.ofMinutes(10), maxConnections, 2);
+    }
+
+    private RecordingEmitter subscribe(String lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        service.subscribe(owner, lastEventId, emitter);
+        return emitter;
+    }
+
+    private void publish(long taskId) {
+        service.onTaskChanged(TaskChangedEvent.deleted(owner.getId(), taskId));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met within 5s").isLessThan(deadline);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private record Event(String id, String name) {
+    }
+
+    /**
+     * Emitter that records what is sent instead of writing to a response; sends can be held
+     * back to play a client that stopped reading
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<Event> events = new ArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+        private volatile boolean completed;
+        private volatile Throwable error;
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void unblock() {
+            gate.countDown();
+        }
+
+        synchronized List<Event> events() {
+            return new ArrayList<>(events);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            CountDownLatch held = gate;
+            if (held != null) {
+                try {
+                    held.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            String id = null;
+            String name = null;
+            for (String line : text.toString().split("\n")) {
+                if (line.startsWith("id:")) {
+                    id = line.substring(3);
+                } else if (line.startsWith("event:")) {
+                    name = line.substring(6);
+                }
+            }
+            if (name != null) {
+                synchronized (this) {
+                    events.add(new Event(id, name));
+                }
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            error = ex;
+            super.completeWithError(ex);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.arnavgautam.taskmanager.service;
+
+import com.arnavgautam.taskmanager.dto.task.SyncWatermark;
+import com.arnavgautam.taskmanager.dto.task.TaskChangesResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskResponse;
+import com.arnavgautam.taskmanager.dto.task.TaskView;
+import com.arnavgautam.taskmanager.entity.User;
+import com.arnavgautam.taskmanager.enums.Priority;
+import com.arnavgautam.taskmanager.enums.TaskStatus;
+import com.arnavgautam.taskmanager.exception.BadRequestException;
+import com.arnavgautam.taskmanager.repository.OpenTransactionRepository;
+import com.arnavgautam.taskmanager.repository.TaskRepository;
+import com.arnavgautam.taskmanager.repository.TaskTombstone;
+import com.arnavgautam.taskmanager.repository.TaskTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Merging of changed tasks and tombstones into one page, the resulting sync token, and the
+ * horizon held back by open write transactions.
+ */
+class TaskSyncServiceTests {
+
+    private static final Instant T0 = Instant.now().minus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final TaskTombstoneRepository taskTombstoneRepository = mock(TaskTombstoneRepository.class);
+    private final OpenTransactionRepository openTransactionRepository = mock(OpenTransactionRepository.class);
+    private final User owner = User.builder().id(1L).username("alice").email("alice@example.com").build();
+    private TaskSyncService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TaskSyncService(taskRepository, taskTombstoneRepository, openTransactionRepository,
+                mock(BatchPurger.class), null);
+        ReflectionTestUtils.setField(service, "settleWindow", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(service, "tombstoneRetention", Duration.ofDays(30));
+        ReflectionTestUtils.setField(service, "maxLimit", 1000);
+        when(openTransactionRepository.findOldestWriteStart()).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void mergesChangesAndTombstonesInTimestampAndIdOrder() {
+        changed(List.of(view(1L, T0), view(3L, T0.plusSeconds(2))), false);
+        deleted(List.of(new TaskTombstone(2L, T0.plusSeconds(1)), new TaskTombstone(0L, T0.plusSeconds(2))));
+
+        TaskChangesResponse response = service.getChanges(owner, null, 10);
+
+        assertThat(response.getChanged()).extracting(TaskResponse::getId).containsExactly(1L, 3L);
+        assertThat(response.getDeleted()).containsExactly(2L, 0L);
+        assertThat(response.isHasMore()).isFalse();
+    }
+
+    @Test
+    void lastPageAdvancesTheTokenToTheHorizon() {
+        changed(List.of(view(1L, T0)), false);
+        deleted(List.of());
+
+        Instant before = Instant.now();
+        SyncWatermark next = SyncWatermark.decode(service.getChanges(owner, null, 10).getNextToken());
+
+        assertThat(next.getChangedAt()).isBetween(before.minusSeconds(5), Instant.now().minusSeconds(5));
+        assertThat(next.getId()).isEqualTo(Long.MAX_VALUE);
+        assertThat(next.isInitial()).isFalse();
+    }
+
+    @Test
+    void cutsAtTheLimitAndResumesAfterTheLastEntrySent() {
+        changed(List.of(view(1L, T0), view(3L, T0.plusSeconds(2))), false);
+        deleted(List.of(new TaskTombstone(2L, T0.plusSeconds(1))));
+
+        TaskChangesResponse response = service.getChanges(owner, null, 2);
+
+        assertThat(response.getChanged()).extracting(TaskResponse::getId).containsExactly(1L);
+        assertThat(response.getDeleted()).containsExactly(2L);
+        assertThat(response.isHasMore()).isTrue();
+        SyncWatermark next = SyncWatermark.decode(response.getNextToken());
+        assertThat(next.getChangedAt()).isEqualTo(T0.plusSeconds(1));
+        assertThat(next.getId()).isEqualTo(2L);
+        assertThat(next.isInitial()).isTrue();
+    }
+
+    @Test
+    void moreTasksInTheDatabaseKeepHasMoreSet() {
+        changed(List.of(view(1L, T0)), true);
+        deleted(List.of());
+
+        TaskChangesResponse response = service.getChanges(owner, null, 1);
+
+        assertThat(response.isHasMore()).isTrue();
+        assertThat(SyncWatermark.decode(response.getNextToken()).getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void horizonStaysBehindTheOldestOpenWriteTransaction() {
+        Instant oldestWrite = Instant.now().minus(10, ChronoUnit.MINUTES);
+        when(openTransactionRepository.findOldestWriteStart()).thenReturn(Optional.of(oldestWrite));
+        changed(List.of(), false);
+        deleted(List.of());
+
+        TaskChangesResponse response = service.getChanges(owner, null, 10);
+
+        ArgumentCaptor<Instant> horizon = ArgumentCaptor.forClass(Instant.class);
+        verify(taskTombstoneRepository).findAfter(eq(1L), any(), anyLong(), horizon.capture(), anyInt());
+        assertThat(horizon.getValue()).isEqualTo(oldestWrite.minusSeconds(5));
+        assertThat(SyncWatermark.decode(response.getNextToken()).getChangedAt()).isEqualTo(oldestWrite.minusSeconds(5));
+    }
+
+    @Test
+    void tokenOlderThanTombstoneRetentionAsksForReset() {
+        String stale = new SyncWatermark(Instant.now().minus(31, ChronoUnit.DAYS), 5L, false).encode();
+
+        TaskChangesResponse response = service.getChanges(owner, stale, 10);
+
+        assertThat(response.isReset()).isTrue();
+        verify(taskRepository, never()).findViewSlice(any(), any(), anyInt());
+    }
+
+    @Test
+    void rejectsLimitsOutOfRange() {
+        assertThatThrownBy(() -> service.getChanges(owner, null, 0)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.getChanges(owner, null, 1001)).isInstanceOf(BadRequestException.class);
+    }
+
+    private void changed(List<TaskView> views, boolean hasNext) {
+        when(taskRepository.findViewSlice(any(), any(), anyInt()))
+                .thenReturn(new SliceImpl<>(views, Pageable.unpaged(), hasNext));
+    }
+
+    private void deleted(List<TaskTombstone> tombstones) {
+        when(taskTombstoneRepository.findAfter(eq(1L), any(), anyLong(), any(), anyInt())).thenReturn(tombstones);
+    }
+
+    private static TaskView view(Long id, Instant updatedAt) {
+        return new TaskView(id, "Task " + id, null, TaskStatus.TODO, Priority.MEDIUM, null, T0, updatedAt, 0L);
+    }
+}